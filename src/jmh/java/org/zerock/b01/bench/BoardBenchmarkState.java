@@ -0,0 +1,101 @@
+package org.zerock.b01.bench;
+
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.b01.B01Application;
+import org.zerock.b01.repository.BoardRepository;
+import org.zerock.b01.service.BoardService;
+import org.zerock.b01.service.ReplyService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    벤치마크 공통 상태 -- 내장 H2(MySQL 모드)로 애플리케이션 컨텍스트를 띄우고 게시글/댓글을 미리 넣어 둔다
+    - boardCount, repliesPerBoard : 데이터 규모 (gradle -PbenchBoards / -PbenchReplies 로 변경)
+    - 캐시는 끄고(목록 캐시, 전문 검색 인덱스) count는 EXACT로 고정해서 매번 실제 조회 비용을 측정
+ */
+@State(Scope.Benchmark)
+public class BoardBenchmarkState {
+
+    @Param({"1000"})
+    public int boardCount;
+
+    @Param({"5"})
+    public int repliesPerBoard;
+
+    public ConfigurableApplicationContext context;
+    public BoardRepository boardRepository;
+    public BoardService boardService;
+    public ReplyService replyService;
+
+    public long firstBno; // -- 댓글 목록 조회에 사용할 게시글 번호
+
+    // 벤치마크 공통 설정 -- 데이터 소스 URL과 웹 실행 여부는 각 State에서 지정
+    static final String[] COMMON_PROPERTIES = {
+            "spring.main.banner-mode=off",
+            "spring.datasource.driver-class-name=org.h2.Driver",
+            "spring.datasource.username=sa",
+            "spring.datasource.password=",
+            "spring.jpa.hibernate.ddl-auto=create-drop",
+            "spring.flyway.enabled=false", // -- H2는 엔티티 매핑(@Table 인덱스 포함)으로 스키마 생성
+            "b01.search.fulltext.enabled=false",
+            "b01.board.list-cache.enabled=false",
+            "b01.board.count-mode=EXACT",
+            "logging.level.root=warn",
+            "logging.level.org.zerock=warn"
+    };
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(B01Application.class)
+                .properties(COMMON_PROPERTIES)
+                .properties(
+                        "spring.main.web-application-type=none",
+                        "spring.datasource.url=jdbc:h2:mem:bench;MODE=MySQL;DB_CLOSE_DELAY=-1")
+                .run();
+
+        boardRepository = context.getBean(BoardRepository.class);
+        boardService = context.getBean(BoardService.class);
+        replyService = context.getBean(ReplyService.class);
+
+        firstBno = seed(context.getBean(JdbcTemplate.class), boardCount, repliesPerBoard);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    // JPA를 거치지 않고 JDBC batch로 빠르게 데이터 생성 -- 첫 번째 게시글 번호 반환
+    static long seed(JdbcTemplate jdbcTemplate, int boardCount, int repliesPerBoard) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+
+        List<Object[]> boards = new ArrayList<>();
+        for (int i = 1; i <= boardCount; i++) {
+            boards.add(new Object[]{"title..." + i, "content..." + i, "user" + (i % 10), repliesPerBoard, now, now});
+        }
+        jdbcTemplate.batchUpdate("insert into board (title, content, writer, reply_count, regdate, moddate) values (?, ?, ?, ?, ?, ?)", boards);
+
+        long firstBno = jdbcTemplate.queryForObject("select min(bno) from board", Long.class);
+
+        List<Object[]> replies = new ArrayList<>();
+        for (long bno = firstBno; bno < firstBno + boardCount; bno++) {
+            for (int j = 0; j < repliesPerBoard; j++) {
+                replies.add(new Object[]{bno, "reply..." + j, "replyer" + j, now, now});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into reply (board_bno, reply_text, replyer, regdate, moddate) values (?, ?, ?, ?, ?)", replies);
+
+        return firstBno;
+    }
+}
@@ -0,0 +1,52 @@
+package org.zerock.b01.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.zerock.b01.domain.Board;
+import org.zerock.b01.dto.BoardListReplyCountDTO;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// BoardSearchImpl 조회 경로 -- 첫 페이지 / 깊은 페이지(OFFSET) / 커서 / 검색어
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class BoardSearchBenchmark {
+
+    private static final String[] TYPES = {"t", "c", "w"};
+
+    @Benchmark
+    public Page<BoardListReplyCountDTO> searchWithReplyCountFirstPage(BoardBenchmarkState state) {
+        return state.boardRepository.searchWithReplyCount(null, null,
+                PageRequest.of(0, 10, Sort.by("bno").descending()));
+    }
+
+    @Benchmark
+    public Page<BoardListReplyCountDTO> searchWithReplyCountDeepPage(BoardBenchmarkState state) {
+        return state.boardRepository.searchWithReplyCount(null, null,
+                PageRequest.of(state.boardCount / 20, 10, Sort.by("bno").descending()));
+    }
+
+    @Benchmark
+    public List<BoardListReplyCountDTO> searchWithReplyCountByCursorDeep(BoardBenchmarkState state) {
+        long cursorBno = state.firstBno + state.boardCount / 2;
+        return state.boardRepository.searchWithReplyCountByCursor(null, null, cursorBno, false, 11);
+    }
+
+    @Benchmark
+    public Page<BoardListReplyCountDTO> searchWithReplyCountKeyword(BoardBenchmarkState state) {
+        return state.boardRepository.searchWithReplyCount(TYPES, "1",
+                PageRequest.of(0, 10, Sort.by("bno").descending()));
+    }
+
+    @Benchmark
+    public Page<Board> searchAllKeyword(BoardBenchmarkState state) {
+        return state.boardRepository.searchAll(TYPES, "1",
+                PageRequest.of(0, 10, Sort.by("bno").descending()));
+    }
+}
@@ -0,0 +1,65 @@
+package org.zerock.b01.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.PageRequestDTO;
+import org.zerock.b01.dto.PageResponseDTO;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// DB 없이 측정하는 DTO 경로 -- PageRequestDTO.getLink / PageResponseDTO 생성
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+public class PageDTOBenchmark {
+
+    @Param({"10", "50"})
+    public int size;
+
+    private List<BoardListReplyCountDTO> dtoList;
+
+    @Setup
+    public void setUp() {
+        dtoList = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            BoardListReplyCountDTO dto = new BoardListReplyCountDTO();
+            dto.setBno((long) i);
+            dto.setTitle("title..." + i);
+            dto.setWriter("user" + i);
+            dto.setRegDate(LocalDateTime.now());
+            dto.setReplyCount(3L);
+            dtoList.add(dto);
+        }
+    }
+
+    @Benchmark
+    public String getLink() {
+        // -- link는 한 번 만들면 보관되므로 매번 새 객체로 측정
+        return PageRequestDTO.builder()
+                .page(7)
+                .size(size)
+                .type("tcw")
+                .keyword("검색어 keyword")
+                .build()
+                .getLink();
+    }
+
+    @Benchmark
+    public PageResponseDTO<BoardListReplyCountDTO> pageResponse() {
+        return PageResponseDTO.<BoardListReplyCountDTO>withAll()
+                .pageRequestDTO(PageRequestDTO.builder().page(7).size(size).build())
+                .dtoList(dtoList)
+                .total(12345)
+                .build();
+    }
+}
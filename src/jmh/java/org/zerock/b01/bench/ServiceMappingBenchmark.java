@@ -0,0 +1,35 @@
+package org.zerock.b01.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.zerock.b01.dto.BoardDTO;
+import org.zerock.b01.dto.PageRequestDTO;
+import org.zerock.b01.dto.PageResponseDTO;
+import org.zerock.b01.dto.ReplyDTO;
+
+import java.util.concurrent.TimeUnit;
+
+// 조회 + DTO 변환 경로 -- BoardServiceImpl.list / ReplyServiceImpl.getListOfBoard
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+public class ServiceMappingBenchmark {
+
+    @Param({"10", "50"})
+    public int size; // -- 한 페이지 행 수 (변환 대상 개수)
+
+    @Benchmark
+    public PageResponseDTO<BoardDTO> boardList(BoardBenchmarkState state) {
+        return state.boardService.list(PageRequestDTO.builder().page(1).size(size).build());
+    }
+
+    @Benchmark
+    public PageResponseDTO<ReplyDTO> replyListOfBoard(BoardBenchmarkState state) {
+        return state.replyService.getListOfBoard(state.firstBno, PageRequestDTO.builder().page(1).size(size).build());
+    }
+}
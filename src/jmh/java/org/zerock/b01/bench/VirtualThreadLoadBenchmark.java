@@ -0,0 +1,94 @@
+package org.zerock.b01.bench;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.b01.B01Application;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/*
+    부하 테스트 -- 가상 스레드 사용 여부(virtualThreads)에 따른 /board/list 처리량(요청/초) 비교
+    - 내장 Tomcat을 임의 포트로 띄우고 200개의 클라이언트 스레드가 동시에 요청
+    - 플랫폼 스레드 모드는 Tomcat 스레드를 tomcatMaxThreads개로 제한 (운영 환경의 스레드 풀 고갈 상황 재현)
+    - H2는 쿼리 지연이 거의 없으므로 실제 비교는 MySQL로 실행
+      예) ./gradlew jmh -Pjmh.includes=VirtualThreadLoad -Dbench.datasource.url=jdbc:mysql://... (드라이버/계정은 bench.datasource.*)
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Threads(200)
+public class VirtualThreadLoadBenchmark {
+
+    @State(Scope.Benchmark)
+    public static class WebState {
+
+        @Param({"false", "true"})
+        public boolean virtualThreads;
+
+        @Param({"20"})
+        public int tomcatMaxThreads;
+
+        @Param({"1000"})
+        public int boardCount;
+
+        public ConfigurableApplicationContext context;
+        public HttpClient client;
+        public String baseUrl;
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            context = new SpringApplicationBuilder(B01Application.class)
+                    .properties(BoardBenchmarkState.COMMON_PROPERTIES)
+                    .properties(
+                            "server.port=0",
+                            "spring.threads.virtual.enabled=" + virtualThreads,
+                            "server.tomcat.threads.max=" + tomcatMaxThreads,
+                            "spring.datasource.url=" + System.getProperty("bench.datasource.url", "jdbc:h2:mem:benchweb;MODE=MySQL;DB_CLOSE_DELAY=-1"),
+                            "spring.datasource.driver-class-name=" + System.getProperty("bench.datasource.driver", "org.h2.Driver"),
+                            "spring.datasource.username=" + System.getProperty("bench.datasource.username", "sa"),
+                            "spring.datasource.password=" + System.getProperty("bench.datasource.password", ""))
+                    .run();
+
+            BoardBenchmarkState.seed(context.getBean(JdbcTemplate.class), boardCount, 5);
+
+            baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+            client = HttpClient.newBuilder()
+                    .connectTimeout(Duration.ofSeconds(10))
+                    .build();
+        }
+
+        @TearDown(Level.Trial)
+        public void tearDown() {
+            context.close();
+        }
+    }
+
+    @Benchmark
+    public int boardList(WebState state) throws Exception {
+        int page = ThreadLocalRandom.current().nextInt(1, 11);
+        HttpRequest request = HttpRequest.newBuilder(URI.create(state.baseUrl + "/board/list?page=" + page))
+                .timeout(Duration.ofSeconds(30))
+                .GET()
+                .build();
+
+        HttpResponse<Void> response = state.client.send(request, HttpResponse.BodyHandlers.discarding());
+        return response.statusCode();
+    }
+}
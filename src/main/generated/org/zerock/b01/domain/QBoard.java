@@ -31,6 +31,8 @@ public class QBoard extends EntityPathBase<Board> {
     //inherited
     public final DateTimePath<java.time.LocalDateTime> regDate = _super.regDate;
 
+    public final NumberPath<Long> replyCount = createNumber("replyCount", Long.class);
+
     public final StringPath title = createString("title");
 
     public final StringPath writer = createString("writer");
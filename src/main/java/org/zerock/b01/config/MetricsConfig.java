@@ -0,0 +1,21 @@
+package org.zerock.b01.config;
+
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/*
+    메트릭 설정
+    - @Timed가 붙은 클래스/메서드의 실행 시간을 Timer로 기록 (TimedAspect, spring-boot-starter-aop 필요)
+    - 백분위(p50/p95/p99)와 히스토그램은 application.properties의 management.metrics.distribution.* 에서 지정
+    - /actuator/prometheus 로 수집
+ */
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry meterRegistry) {
+        return new TimedAspect(meterRegistry);
+    }
+}
@@ -0,0 +1,84 @@
+package org.zerock.b01.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.QueryCount;
+import net.ttddyy.dsproxy.QueryCountHolder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/*
+    요청 한 건에서 실행한 SQL 수 검사 (N+1 감지)
+    - 요청 시작 시 스레드의 쿼리 수를 초기화하고, 끝나면 b01.http.queries{uri} 분포로 기록
+    - b01.query-budget.max-per-request를 넘으면 WARN 로그
+    - b01.query-budget.strict=true(테스트)면 예외를 던져 테스트를 실패시킨다
+ */
+@Component
+@Log4j2
+public class QueryCountFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int maxPerRequest;
+    private final boolean strict;
+
+    public QueryCountFilter(MeterRegistry meterRegistry,
+                            @Value("${b01.query-budget.max-per-request:10}") int maxPerRequest,
+                            @Value("${b01.query-budget.strict:false}") boolean strict) {
+        this.meterRegistry = meterRegistry;
+        this.maxPerRequest = maxPerRequest;
+        this.strict = strict;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        QueryCountHolder.clear();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            QueryCount queryCount = QueryCountHolder.getGrandTotal();
+            QueryCountHolder.clear();
+            check(request, queryCount);
+        }
+    }
+
+    private void check(HttpServletRequest request, QueryCount queryCount) {
+        int total = queryCount.getTotal();
+        if (total == 0) {
+            return;
+        }
+
+        // uri 태그는 요청 경로가 아닌 매핑 패턴 (/board/read?bno=1, 2, ... -> /board/read)
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+
+        DistributionSummary.builder("b01.http.queries")
+                .description("SQL statements executed per request")
+                .tag("uri", uri)
+                .register(meterRegistry)
+                .record(total);
+
+        if (total <= maxPerRequest) {
+            log.debug("{} {} : {} queries", request.getMethod(), request.getRequestURI(), total);
+            return;
+        }
+
+        String message = String.format("%s %s executed %d queries (select %d, insert %d, update %d, delete %d) -- budget %d",
+                request.getMethod(), request.getRequestURI(), total,
+                queryCount.getSelect(), queryCount.getInsert(), queryCount.getUpdate(), queryCount.getDelete(), maxPerRequest);
+
+        if (strict) {
+            throw new IllegalStateException("query budget exceeded : " + message);
+        }
+        log.warn("query budget exceeded : {}", message);
+    }
+}
@@ -0,0 +1,58 @@
+package org.zerock.b01.config;
+
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import net.ttddyy.dsproxy.listener.logging.SLF4JLogLevel;
+import net.ttddyy.dsproxy.support.ProxyDataSource;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/*
+    SQL 실행 검사 (datasource-proxy)
+    - spring.jpa.show-sql처럼 모든 SQL을 출력하지 않고, b01.query-log.slow-threshold보다 오래 걸린 SQL만 바인딩 값과 함께 WARN 로그
+      (logger : b01.sql.slow)
+    - 전체 SQL이 필요하면 logging.level.b01.sql=debug
+    - 요청 스레드별 실행 횟수를 집계(QueryCountHolder) -- QueryCountFilter가 요청 단위로 확인
+    - Hibernate뿐 아니라 JdbcTemplate(내보내기/가져오기 등)으로 실행하는 SQL도 포함
+    - QueryExecutionListener 빈이 있으면 함께 등록 (테스트에서 실행된 SQL과 바인딩 값 수집 등)
+ */
+@Configuration
+@Log4j2
+public class QueryInspectionConfig {
+
+    @Bean
+    public static BeanPostProcessor queryInspectionDataSourcePostProcessor(Environment environment,
+                                                                           ObjectProvider<QueryExecutionListener> queryExecutionListeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ProxyDataSource) {
+                    return bean;
+                }
+
+                Duration slowThreshold = environment.getProperty("b01.query-log.slow-threshold", Duration.class,
+                        Duration.ofMillis(200));
+
+                log.info("slow query log threshold : {}", slowThreshold);
+                ProxyDataSourceBuilder builder = ProxyDataSourceBuilder.create(dataSource)
+                        .name("b01")
+                        .countQuery() // -- 스레드별 쿼리 수 집계
+                        .logSlowQueryBySlf4j(slowThreshold.toMillis(), TimeUnit.MILLISECONDS, SLF4JLogLevel.WARN, "b01.sql.slow")
+                        .logQueryBySlf4j(SLF4JLogLevel.DEBUG, "b01.sql");
+
+                queryExecutionListeners.orderedStream().forEach(builder::listener);
+
+                return builder.build();
+            }
+        };
+    }
+}
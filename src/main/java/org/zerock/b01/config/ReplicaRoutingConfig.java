@@ -0,0 +1,91 @@
+package org.zerock.b01.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import com.zaxxer.hikari.metrics.micrometer.MicrometerMetricsTrackerFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.core.env.Environment;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/*
+    읽기 전용 복제본(replica) 라우팅 -- b01.datasource.replica.urls가 설정된 경우에만 사용
+    - @Transactional(readOnly = true) 메서드 : replica (ReplicaRoutingDataSource, round-robin + 상태 확인)
+    - 그 외(쓰기) : primary (spring.datasource.*)
+    - LazyConnectionDataSourceProxy는 실제 SQL을 실행할 때 커넥션을 얻으므로,
+      트랜잭션 시작 시 지정된 read-only 여부를 보고 primary / replica를 고를 수 있다
+    - replica 계정은 primary와 같은 계정을 사용 (b01.datasource.replica.username/password로 변경 가능)
+ */
+@Configuration
+@ConditionalOnProperty(name = "b01.datasource.replica.urls")
+@Log4j2
+public class ReplicaRoutingConfig {
+
+    // primary 커넥션 풀 -- spring.datasource.* / spring.datasource.hikari.* 설정 사용
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+        HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        if (properties.getName() != null) {
+            dataSource.setPoolName(properties.getName());
+        }
+        return dataSource;
+    }
+
+    @Bean(destroyMethod = "destroy")
+    public ReplicaRoutingDataSource replicaDataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                                      DataSourceProperties properties,
+                                                      Environment environment,
+                                                      ObjectProvider<MeterRegistry> meterRegistry) {
+        String[] urls = environment.getRequiredProperty("b01.datasource.replica.urls", String[].class);
+        String username = environment.getProperty("b01.datasource.replica.username", properties.determineUsername());
+        String password = environment.getProperty("b01.datasource.replica.password", properties.determinePassword());
+        int poolSize = environment.getProperty("b01.datasource.replica.maximum-pool-size", Integer.class,
+                primaryDataSource.getMaximumPoolSize());
+        Duration healthCheckInterval = environment.getProperty("b01.datasource.replica.health-check-interval",
+                Duration.class, Duration.ofSeconds(5));
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName(primaryDataSource.getPoolName() + "-replica-" + i);
+            replica.setJdbcUrl(urls[i].trim());
+            replica.setUsername(username);
+            replica.setPassword(password);
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setMaximumPoolSize(poolSize);
+            replica.setConnectionTimeout(primaryDataSource.getConnectionTimeout());
+            replica.setMaxLifetime(primaryDataSource.getMaxLifetime());
+            replica.setDataSourceProperties(primaryDataSource.getDataSourceProperties());
+            replica.setReadOnly(true);
+            replica.setInitializationFailTimeout(-1); // -- replica가 내려가 있어도 애플리케이션은 시작
+            meterRegistry.ifAvailable(registry -> replica.setMetricsTrackerFactory(new MicrometerMetricsTrackerFactory(registry)));
+            replicas.add(replica);
+        }
+
+        log.info("read replicas : {}", urls.length);
+        return new ReplicaRoutingDataSource(replicas, primaryDataSource, healthCheckInterval);
+    }
+
+    // 애플리케이션이 사용하는 DataSource -- 트랜잭션의 read-only 여부에 따라 primary / replica 선택
+    @Bean
+    @Primary
+    public DataSource dataSource(@Qualifier("primaryDataSource") HikariDataSource primaryDataSource,
+                                 ReplicaRoutingDataSource replicaDataSource) {
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primaryDataSource);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+        return dataSource;
+    }
+}
@@ -0,0 +1,142 @@
+package org.zerock.b01.config;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLRecoverableException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    읽기 전용 복제본(replica) DataSource 묶음
+    - 커넥션 요청마다 정상 상태인 replica를 돌아가며(round-robin) 선택
+    - 접속 자체가 실패한 replica(연결 오류)는 즉시 비정상으로 표시하고 다음 replica로 넘어감
+      풀의 커넥션이 모두 사용 중이라 기다리다 실패한 경우(Hikari의 SQLTransientConnectionException)는 이번 요청만 다음 replica로 넘기고 정상으로 유지
+      -- 읽기 부하가 몰릴 때 모든 읽기가 primary로 넘어가지 않도록
+    - 백그라운드에서 주기적으로 Connection.isValid()를 확인해서 복구된 replica를 다시 사용
+    - 정상 replica가 하나도 없으면 fallback(primary)에서 커넥션을 얻는다
+ */
+@Log4j2
+public class ReplicaRoutingDataSource extends AbstractDataSource implements DisposableBean {
+
+    private final List<Replica> replicas;
+    private final DataSource fallback;
+    private final AtomicInteger next = new AtomicInteger();
+    private final ScheduledExecutorService healthChecker;
+
+    public ReplicaRoutingDataSource(List<DataSource> replicaDataSources, DataSource fallback, Duration healthCheckInterval) {
+        this.replicas = new ArrayList<>();
+        for (int i = 0; i < replicaDataSources.size(); i++) {
+            this.replicas.add(new Replica("replica-" + i, replicaDataSources.get(i)));
+        }
+        this.fallback = fallback;
+
+        this.healthChecker = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform()
+                .name("replica-health-check")
+                .daemon(true)
+                .factory());
+        long interval = healthCheckInterval.toMillis();
+        this.healthChecker.scheduleWithFixedDelay(this::checkHealth, interval, interval, TimeUnit.MILLISECONDS);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return route(DataSource::getConnection);
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return route(dataSource -> dataSource.getConnection(username, password));
+    }
+
+    // 정상 replica를 round-robin으로 시도하고, 모두 실패하면 fallback(primary)에서 커넥션을 얻는다
+    private Connection route(ConnectionSource source) throws SQLException {
+        int size = replicas.size();
+        int start = Math.floorMod(next.getAndIncrement(), size);
+
+        for (int i = 0; i < size; i++) {
+            Replica replica = replicas.get((start + i) % size);
+            if (!replica.healthy) {
+                continue;
+            }
+            try {
+                return source.connect(replica.dataSource);
+            } catch (SQLException e) {
+                if (isConnectionFailure(e)) {
+                    replica.healthy = false;
+                    log.warn("{} unavailable, marked unhealthy : {}", replica.name, e.getMessage());
+                } else {
+                    log.warn("{} busy, trying the next one : {}", replica.name, e.getMessage());
+                }
+            }
+        }
+
+        log.warn("no healthy replica -- read from primary");
+        return source.connect(fallback);
+    }
+
+    // 정상 상태인 replica 수 (모니터링/테스트용)
+    public int getHealthyCount() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    void checkHealth() {
+        for (Replica replica : replicas) {
+            boolean healthy;
+            try (Connection connection = replica.dataSource.getConnection()) {
+                healthy = connection.isValid(2);
+            } catch (SQLException e) {
+                if (!isConnectionFailure(e)) { // -- 풀이 바쁜 것뿐이면 상태를 바꾸지 않는다
+                    continue;
+                }
+                healthy = false;
+            }
+            if (healthy != replica.healthy) {
+                log.info("{} is now {}", replica.name, healthy ? "healthy" : "unhealthy");
+            }
+            replica.healthy = healthy;
+        }
+    }
+
+    // 접속 오류인지 확인 -- 풀 대기 시간 초과는 원인(cause)에 접속 오류가 있을 때만 해당
+    // (SQLNonTransientConnectionException : 접속 거부 등, SQLRecoverableException : Connector/J의 CommunicationsException 등)
+    static boolean isConnectionFailure(SQLException e) {
+        for (Throwable t = e; t != null; t = t.getCause()) {
+            if (t instanceof SQLNonTransientConnectionException || t instanceof SQLRecoverableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public void destroy() {
+        healthChecker.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface ConnectionSource {
+        Connection connect(DataSource dataSource) throws SQLException;
+    }
+
+    private static class Replica {
+        private final String name;
+        private final DataSource dataSource;
+        private volatile boolean healthy = true;
+
+        Replica(String name, DataSource dataSource) {
+            this.name = name;
+            this.dataSource = dataSource;
+        }
+    }
+}
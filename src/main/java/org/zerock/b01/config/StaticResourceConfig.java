@@ -0,0 +1,77 @@
+package org.zerock.b01.config;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.ResourceHandlerRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.resource.EncodedResourceResolver;
+import org.springframework.web.servlet.resource.ResourceUrlEncodingFilter;
+import org.springframework.web.servlet.resource.VersionResourceResolver;
+
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Pattern;
+
+/*
+    정적 자원(css/js/assets)과 WebJars(bootstrap, axios) 처리
+    - 파일 이름에 내용 해시를 붙인 URL 사용 (styles.css -> styles-{md5}.css)
+      Thymeleaf의 @{...} 링크는 ResourceUrlEncodingFilter가 해시 URL로 바꿔서 출력하므로 템플릿(index.html 포함)에서는 항상 @{...}로 참조
+    - 해시 URL과 WebJars(경로에 버전 포함)만 1년 + immutable 캐시 (내용이 바뀌면 URL이 바뀌므로 재검증 요청도 보내지 않음)
+      해시가 없는 URL(/css/styles.css)은 no-cache -- 배포 후에도 오래된 파일을 쓰지 않도록 매번 Last-Modified로 재검증
+    - 빌드 시 만들어 둔 .gz 파일(build.gradle processResources)이 있으면 Accept-Encoding에 따라 그대로 전송 (요청마다 압축하지 않음)
+    - 그 외 경로는 Spring Boot 기본 정적 자원 처리
+ */
+@Configuration
+public class StaticResourceConfig implements WebMvcConfigurer {
+
+    private static final String[] STATIC_DIRS = {"css", "js", "assets"};
+
+    // ContentVersionStrategy가 붙이는 파일 이름 해시 (-{md5}.확장자)
+    private static final Pattern FINGERPRINT = Pattern.compile("-[0-9a-f]{32}\\.[^/]+$");
+
+    private static final String IMMUTABLE = CacheControl.maxAge(365, TimeUnit.DAYS).cachePublic().immutable().getHeaderValue();
+    private static final String REVALIDATE = CacheControl.noCache().getHeaderValue();
+
+    @Override
+    public void addResourceHandlers(ResourceHandlerRegistry registry) {
+        for (String dir : STATIC_DIRS) {
+            addFingerprintedHandler(registry, "/" + dir + "/**", "classpath:/static/" + dir + "/");
+        }
+
+        // 외부 CDN 대신 WebJars로 함께 배포하는 라이브러리 (/webjars/{name}/{version}/...)
+        addFingerprintedHandler(registry, "/webjars/**", "classpath:/META-INF/resources/webjars/");
+    }
+
+    // Cache-Control은 핸들러에 지정하지 않고(지정하면 모든 URL에 같은 값) 아래 인터셉터에서 URL별로 지정
+    private void addFingerprintedHandler(ResourceHandlerRegistry registry, String pathPattern, String location) {
+        registry.addResourceHandler(pathPattern)
+                .addResourceLocations(location)
+                .resourceChain(true) // -- 해석 결과 캐시 (해시 계산은 자원당 한 번)
+                .addResolver(new EncodedResourceResolver()) // -- 미리 압축된 .gz 우선
+                .addResolver(new VersionResourceResolver().addContentVersionStrategy("/**"));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(new HandlerInterceptor() {
+            @Override
+            public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+                String path = request.getRequestURI();
+                boolean versioned = path.startsWith(request.getContextPath() + "/webjars/") || FINGERPRINT.matcher(path).find();
+                response.setHeader(HttpHeaders.CACHE_CONTROL, versioned ? IMMUTABLE : REVALIDATE);
+                return true;
+            }
+        }).addPathPatterns("/css/**", "/js/**", "/assets/**", "/webjars/**");
+    }
+
+    // 템플릿의 @{/css/styles.css} 같은 링크를 해시가 붙은 URL로 변환
+    @Bean
+    public ResourceUrlEncodingFilter resourceUrlEncodingFilter() {
+        return new ResourceUrlEncodingFilter();
+    }
+}
@@ -0,0 +1,63 @@
+package org.zerock.b01.config;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/*
+    가상 스레드 실행 모드 (spring.threads.virtual.enabled=true)
+    - Spring Boot가 Tomcat 요청 처리, @Async/applicationTaskExecutor, @Scheduled를 가상 스레드로 실행
+    - 요청 스레드 수에 상한이 없어지므로 DB 커넥션 요청은 ConnectionLimitingDataSource로 제한
+      (b01.datasource.max-concurrent, 기본값은 Hikari 최대 풀 크기)
+    - permit 대기 상태는 b01.datasource.permits.* 메트릭으로 확인 (/actuator/metrics)
+ */
+@Configuration
+@ConditionalOnProperty(name = "spring.threads.virtual.enabled", havingValue = "true")
+@Log4j2
+public class VirtualThreadConfig {
+
+    // static -- 다른 빈보다 먼저 등록되어야 하는 BeanPostProcessor
+    @Bean
+    public static BeanPostProcessor connectionLimitingDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!"dataSource".equals(beanName) || !(bean instanceof DataSource dataSource)
+                        || bean instanceof ConnectionLimitingDataSource) {
+                    return bean;
+                }
+
+                int maxConcurrent = environment.getProperty("b01.datasource.max-concurrent", Integer.class,
+                        environment.getProperty("spring.datasource.hikari.maximum-pool-size", Integer.class, 10));
+                Duration acquireTimeout = environment.getProperty("b01.datasource.acquire-timeout", Duration.class,
+                        Duration.ofSeconds(30));
+
+                log.info("virtual threads enabled -- limit concurrent connections to {}", maxConcurrent);
+                return new ConnectionLimitingDataSource(dataSource, maxConcurrent, acquireTimeout);
+            }
+        };
+    }
+
+    // Hikari 메트릭(hikaricp.connections.*)은 풀 안의 대기만 보여주므로 풀에 들어가기 전 대기도 함께 노출
+    @Bean
+    public MeterBinder connectionPermitMetrics(DataSource dataSource) {
+        return registry -> {
+            if (dataSource instanceof ConnectionLimitingDataSource limitingDataSource) {
+                Gauge.builder("b01.datasource.permits.waiting", limitingDataSource, ConnectionLimitingDataSource::getQueueLength)
+                        .description("Threads waiting for a connection permit")
+                        .register(registry);
+                Gauge.builder("b01.datasource.permits.available", limitingDataSource, ConnectionLimitingDataSource::getAvailablePermits)
+                        .description("Connection permits currently available")
+                        .register(registry);
+            }
+        };
+    }
+}
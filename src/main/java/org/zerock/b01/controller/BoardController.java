@@ -1,9 +1,13 @@
 package org.zerock.b01.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.validation.BindingResult;
@@ -11,13 +15,18 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.support.RequestContextUtils;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 import org.zerock.b01.dto.BoardDTO;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.BoardVersionDTO;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
 import org.zerock.b01.service.BoardService;
 
+import java.util.Optional;
+
 @Controller
 @RequestMapping("/board")
 @RequiredArgsConstructor
@@ -67,8 +76,21 @@ public class BoardController {
     }*/
 
     // 글 조회 & 수정/삭제 화면
+    // 조건부 요청 -- 게시글 수정 일자로 ETag/Last-Modified를 만들고, 브라우저가 가진 값과 같으면
+    // 엔티티 조회와 템플릿 처리 없이 304 Not Modified (void 메서드에서 checkNotModified()가 true면 응답 완료로 처리됨)
+    // 단, flash 속성(수정 검증 오류 errors, 처리 결과 result)이 있으면 화면 내용이 게시글과 별개로 달라지므로 비교하지 않는다
     @GetMapping({"/read", "/modify"})
-    public void read(Long bno, PageRequestDTO pageRequestDTO, Model model) {
+    public void read(Long bno, PageRequestDTO pageRequestDTO, Model model, WebRequest webRequest,
+                     HttpServletRequest request, HttpServletResponse response) {
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue()); // -- 캐시하되 매번 재검증
+
+        if (RequestContextUtils.getInputFlashMap(request) == null) {
+            Optional<BoardVersionDTO> version = boardService.readVersion(bno);
+            if (version.isPresent() && webRequest.checkNotModified(version.get().getBoardETag(), version.get().getLastModified())) {
+                return;
+            }
+        }
+
         BoardDTO boardDTO = boardService.readOne(bno);
         log.info(boardDTO);
         model.addAttribute("dto", boardDTO);
@@ -0,0 +1,103 @@
+package org.zerock.b01.controller;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import jakarta.servlet.ServletContext;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.context.i18n.LocaleContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.thymeleaf.context.WebContext;
+import org.thymeleaf.spring6.ISpringTemplateEngine;
+import org.thymeleaf.web.servlet.JakartaServletWebApplication;
+import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.PageResponseDTO;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Set;
+
+/*
+    게시글 목록 화면(board/list.html)의 행/페이지 번호 조각 캐시
+    - 목록 한 번에 행 10개 + 페이지 번호를 매번 템플릿으로 처리하지 않고, 렌더링된 HTML 문자열을 보관해서 그대로 출력
+    - 행 키 : bno + modDate + replyCount + link -- 제목/내용 수정(modDate)이나 댓글 수가 바뀌면 키가 달라지므로 따로 비우지 않는다
+      (link는 검색/페이지 조건이 붙은 조회 링크라서 키에 포함)
+    - 페이지 번호 키 : 페이지 범위(start~end, 현재 page, prev/next)와 커서 값
+    - 바뀐 행의 이전 항목은 maximum-size / expire-after-access로 정리
+    - 적중률 : cache.gets{cache=board.list.fragments, result=hit|miss} (/actuator/metrics)
+ */
+@Component
+@ConditionalOnWebApplication
+@Log4j2
+public class BoardListFragmentCache {
+
+    private static final String TEMPLATE = "board/list-fragments";
+
+    private final Cache<String, String> cache;
+
+    private final boolean enabled;
+
+    private final ISpringTemplateEngine templateEngine;
+
+    private final JakartaServletWebApplication webApplication;
+
+    public BoardListFragmentCache(@Value("${b01.board.list-fragment-cache.enabled:true}") boolean enabled,
+                                  @Value("${b01.board.list-fragment-cache.maximum-size:5000}") long maximumSize,
+                                  @Value("${b01.board.list-fragment-cache.expire-after-access:10m}") Duration expireAfterAccess,
+                                  ISpringTemplateEngine templateEngine,
+                                  ServletContext servletContext,
+                                  MeterRegistry meterRegistry) {
+        this.enabled = enabled;
+        this.templateEngine = templateEngine;
+        this.webApplication = JakartaServletWebApplication.buildApplication(servletContext);
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterAccess(expireAfterAccess)
+                .recordStats()
+                .build();
+
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, "board.list.fragments");
+    }
+
+    // 목록 한 행 (<tr>...</tr>)
+    public String row(BoardListReplyCountDTO dto, String link) {
+        String key = "row|" + dto.getBno() + '|' + dto.getModDate() + '|' + dto.getReplyCount() + '|' + link;
+
+        return render(key, "row", Map.of("dto", dto, "link", link == null ? "" : link));
+    }
+
+    // 페이지 번호 (<ul class="pagination">...</ul>)
+    public String pagination(PageResponseDTO<?> responseDTO, boolean cursorMode) {
+        String key = "pagination|" + cursorMode + '|' + responseDTO.getPage() + '|'
+                + responseDTO.getStart() + '|' + responseDTO.getEnd() + '|'
+                + responseDTO.isPrev() + '|' + responseDTO.isNext() + '|'
+                + responseDTO.getPrevCursor() + '|' + responseDTO.getNextCursor();
+
+        return render(key, "pagination", Map.of("responseDTO", responseDTO, "cursorMode", cursorMode));
+    }
+
+    private String render(String key, String fragment, Map<String, Object> variables) {
+        if (!enabled) {
+            return process(fragment, variables);
+        }
+
+        return cache.get(key, k -> process(fragment, variables));
+    }
+
+    // 현재 요청으로 WebContext를 만들어 조각만 처리 -- @{...} 링크(context path, 해시 URL 변환)가 목록 화면과 같게 만들어진다
+    private String process(String fragment, Map<String, Object> variables) {
+        ServletRequestAttributes attributes = (ServletRequestAttributes) RequestContextHolder.currentRequestAttributes();
+
+        WebContext context = new WebContext(
+                webApplication.buildExchange(attributes.getRequest(), attributes.getResponse()),
+                LocaleContextHolder.getLocale(),
+                variables);
+
+        return templateEngine.process(TEMPLATE, Set.of(fragment), context);
+    }
+}
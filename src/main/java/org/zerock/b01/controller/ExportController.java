@@ -0,0 +1,52 @@
+package org.zerock.b01.controller;
+
+import io.swagger.v3.oas.annotations.Operation;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import org.zerock.b01.service.BoardExportService;
+
+/*
+    StreamingResponseBody?
+    - 응답 본문을 메모리에 모두 만든 뒤 보내는 대신, 별도 스레드에서 출력 스트림에 직접 쓰면서 클라이언트로 전송
+    - 수백만 건을 내보내도 힙 사용량이 일정하게 유지된다 (요청 타임아웃은 spring.mvc.async.request-timeout)
+ */
+@RestController
+@RequestMapping("/export")
+@Log4j2
+@RequiredArgsConstructor
+public class ExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    private static final MediaType CSV = MediaType.parseMediaType("text/csv;charset=UTF-8");
+
+    private final BoardExportService boardExportService;
+
+    @Operation(summary = "Export boards (NDJSON)", description = "게시글과 댓글 전체를 게시글당 한 줄의 JSON으로 내보내기")
+    @GetMapping("/boards.ndjson")
+    public ResponseEntity<StreamingResponseBody> exportNdjson() {
+        log.info("export ndjson.......");
+        return attachment("boards.ndjson", NDJSON, boardExportService::exportNdjson);
+    }
+
+    @Operation(summary = "Export boards (CSV)", description = "게시글과 댓글 전체를 댓글당 한 행의 CSV로 내보내기")
+    @GetMapping("/boards.csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv() {
+        log.info("export csv.......");
+        return attachment("boards.csv", CSV, boardExportService::exportCsv);
+    }
+
+    private ResponseEntity<StreamingResponseBody> attachment(String filename, MediaType mediaType, StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(mediaType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
@@ -1,21 +1,33 @@
 package org.zerock.b01.controller;
 
 import io.swagger.v3.oas.annotations.Operation;
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
 import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.b01.dto.BoardVersionDTO;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
+import org.zerock.b01.dto.ReplyBatchDTO;
 import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.service.BoardService;
+import org.zerock.b01.service.ReplyEventHub;
 import org.zerock.b01.service.ReplyService;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 /*
     ResponseEntity?
@@ -40,6 +52,10 @@ public class ReplyController {
 
     private final ReplyService replyService;
 
+    private final BoardService boardService; // -- 댓글 목록 조건부 요청용 게시글 댓글 버전 조회
+
+    private final ReplyEventHub replyEventHub; // -- 댓글 변경 SSE 구독
+
     // 해당 메서드가 Relies POST 작업을 수행하며, POST 방식으로 댓글 등록 기능을 한다
     @Operation(summary = "Replies POST", description = "POST 방식으로 댓글 등록")
     // HTTP Method POST 요청을 처리
@@ -47,7 +63,8 @@ public class ReplyController {
     // 요청 본문이 JSON 형식임을 나타냄 (consumes)
     @PostMapping(value = "/", consumes = MediaType.APPLICATION_JSON_VALUE)
     // 클라이언트가 보낸 JSON 데이터를 ReplyDTO 객체로 변환하여 register() 메서드의 매개변수로 받도록 설정
-    public Map<String, Long> register(@Valid @RequestBody ReplyDTO replyDTO, BindingResult bindingResult) throws BindException {
+    // 쓰기 지연 등록(b01.reply.ingest.enabled)을 켜면 group commit이 끝난 뒤 비동기로 응답
+    public CompletableFuture<Map<String, Long>> register(@Valid @RequestBody ReplyDTO replyDTO, BindingResult bindingResult) throws BindException {
 
         log.info(replyDTO);
 
@@ -55,22 +72,50 @@ public class ReplyController {
             throw new BindException(bindingResult);
         }
 
-        Map<String, Long> resultMap = new HashMap<>();
-
         // 추가 코드 부분
-        Long rno = replyService.register(replyDTO);
+        return replyService.registerAsync(replyDTO).thenApply(rno -> {
+            Map<String, Long> resultMap = new HashMap<>();
+            resultMap.put("rno", rno);
+            return resultMap;
+        });
+    }
 
-        resultMap.put("rno", rno);
+    ;
+
+    // 댓글 일괄 등록 -- 요청 본문은 ReplyDTO의 JSON 배열, 항목별 검증 후 JDBC batch로 저장
+    @Operation(summary = "Replies batch POST", description = "POST 방식으로 여러 댓글을 한 번에 등록")
+    @PostMapping(value = "/batch", consumes = MediaType.APPLICATION_JSON_VALUE)
+    public Map<String, List<Long>> registerAll(@Valid @RequestBody ReplyBatchDTO replyBatchDTO, BindingResult bindingResult) throws BindException {
+
+        log.info("registerAll: " + replyBatchDTO.getReplies().size());
+
+        // 하나라도 검증에 실패하면 저장하지 않음 -- 오류 필드는 replies[index].필드명 형태로 전달
+        if (bindingResult.hasErrors()) {
+            throw new BindException(bindingResult);
+        }
+
+        Map<String, List<Long>> resultMap = new HashMap<>();
+
+        resultMap.put("rnos", replyService.registerAll(replyBatchDTO.getReplies()));
 
         return resultMap;
     }
 
-    ;
+    // 특정 게시물의 댓글 변경 구독 (Server-Sent Events) -- 커밋된 댓글 등록/수정/삭제를 REGISTERED/MODIFIED/REMOVED 이벤트로 전송
+    // 화면은 목록을 주기적으로 다시 조회하지 않고 이벤트로 받은 댓글만 반영
+    @Operation(summary = "Reply events of Board", description = "GET 방식으로 특정 게시물의 댓글 변경 이벤트 구독 (text/event-stream)")
+    @GetMapping(value = "/stream/{bno}", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@PathVariable("bno") Long bno) {
+        return replyEventHub.subscribe(bno);
+    }
 
     // 특정 게시물의 댓글 목록 조회 기능
     @Operation(summary = "Replies of Board", description = "GET 방식으로 특정 게시물의 댓글 목록 조회")
     @GetMapping(value = "/list/{bno}") // -- 전체 요청 경로 /replies/list/{bno}
-    public PageResponseDTO<ReplyDTO> getList(@PathVariable("bno") Long bno, PageRequestDTO pageRequestDTO) {
+    public PageResponseDTO<ReplyDTO> getList(@PathVariable("bno") Long bno,
+                                             @RequestParam(value = "after", required = false) Long after,
+                                             PageRequestDTO pageRequestDTO,
+                                             WebRequest webRequest, HttpServletResponse response) {
         // Long bno : 특정 게시물의 번호
         // PageRequestDTO : 페이지 요청 정보
         /*
@@ -87,6 +132,21 @@ public class ReplyController {
 
         log.info("getList.... 실행");
 
+        // 조건부 요청 -- 게시글의 댓글 버전으로 ETag를 만들고, 브라우저가 가진 값과 같으면 댓글 조회/직렬화 없이 304 Not Modified
+        // (null 반환 + checkNotModified() true -> 본문 없이 응답 완료)
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CacheControl.noCache().getHeaderValue()); // -- 캐시하되 매번 재검증
+
+        Optional<BoardVersionDTO> version = boardService.readVersion(bno);
+        if (version.isPresent() && webRequest.checkNotModified(version.get().getRepliesETag())) {
+            return null;
+        }
+
+        // after 파라미터가 있으면 커서 방식 (무한 스크롤) -- 해당 댓글 번호 다음부터 size개, total 없이 nextCursor 반환
+        // 첫 요청은 after=0
+        if (after != null) {
+            return replyService.getListOfBoardAfter(bno, after, pageRequestDTO);
+        }
+
         PageResponseDTO<ReplyDTO> responseDTO = replyService.getListOfBoard(bno, pageRequestDTO);
 
         return responseDTO;
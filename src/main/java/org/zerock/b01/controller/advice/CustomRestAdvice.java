@@ -2,6 +2,7 @@ package org.zerock.b01.controller.advice;
 
 import lombok.extern.log4j.Log4j2;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.BindException;
@@ -9,6 +10,7 @@ import org.springframework.validation.BindingResult;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import org.zerock.b01.service.ReplyIngestRejectedException;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -91,4 +93,19 @@ public class CustomRestAdvice {
         return ResponseEntity.badRequest().body(errorMap);
     }
 
+    // 쓰기 지연 등록 큐가 가득 찬 경우 -- 503 (Service Unavailable)과 Retry-After로 잠시 후 다시 요청하도록 알림
+    @ExceptionHandler(ReplyIngestRejectedException.class)
+    public ResponseEntity<Map<String, String>> handleIngestRejected(ReplyIngestRejectedException e) {
+        log.warn(e.getMessage());
+
+        Map<String, String> errorMap = new HashMap<>();
+
+        errorMap.put("time", ""+System.currentTimeMillis());
+        errorMap.put("msg", "reply queue is full");
+
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(errorMap);
+    }
+
 }
@@ -2,8 +2,19 @@ package org.zerock.b01.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.ColumnDefault;
 
 @Entity
+// 2차 캐시(L2) -- findById 조회 결과를 "board" 영역에 보관, 수정/삭제 시 Hibernate가 해당 항목을 갱신/제거(READ_WRITE)
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "board")
+// 작성자별 목록 / 작성일 정렬용 인덱스 -- 실제 스키마는 Flyway 마이그레이션(V2__Add_query_indexes)이 관리
+@Table(indexes = {
+        @Index(name = "idx_board_writer_bno", columnList = "writer, bno"),
+        @Index(name = "idx_board_regdate", columnList = "regdate")
+})
 @Getter
 @Builder
 @AllArgsConstructor
@@ -23,6 +34,19 @@ public class Board extends BaseEntity{
     @Column(length = 50, nullable = false)
     private String writer;
 
+    // 댓글 수 (비정규화 컬럼) -- 목록 조회 시 Reply와 left join + group by 하지 않도록 게시글에 직접 유지
+    // 값은 BoardRepository.updateReplyCount()의 SQL 증감으로만 변경하므로 엔티티 저장 시에는 건드리지 않는다
+    // (insertable/updatable = false -- 게시글 수정 시 오래된 값으로 덮어쓰는 문제 방지)
+    // 2차 캐시에 담긴 엔티티의 값은 오래될 수 있으므로 댓글 수는 항상 목록 조회(프로젝션)로 읽는다
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long replyCount;
+
+    // 댓글 버전 -- 댓글 등록/수정/삭제 때마다 SQL에서 +1 (댓글 목록 ETag), replyCount와 같은 이유로 엔티티 저장 시에는 건드리지 않는다
+    @ColumnDefault("0")
+    @Column(nullable = false, insertable = false, updatable = false)
+    private long replyVersion;
+
     public void change(String t, String c) {
         this.title = t;
         this.content = c;
@@ -2,6 +2,8 @@ package org.zerock.b01.domain;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /*
     JPA 연관 관계 구성 시 아래의 부분을 주의해서 작성해야 한다.
@@ -10,8 +12,12 @@ import lombok.*;
  */
 
 @Entity // -- 해당 클래스가 JPA 엔티티임을 나타냄
+@Cacheable // -- 2차 캐시(L2) 대상 엔티티
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "reply") // -- "reply" 영역, 수정/삭제 시 캐시 항목 갱신/제거
 @Table(name = "Reply", indexes = {
-        @Index(name = "idx_reply_board_bno", columnList = "board_bno")
+        // 게시글별 댓글 목록(rno 순) -- 커서 방식 조회(board_bno = ? and rno > ? order by rno)를 인덱스 범위로 처리
+        // 실제 스키마는 Flyway 마이그레이션(V2__Add_query_indexes)이 관리
+        @Index(name = "idx_reply_board_bno_rno", columnList = "board_bno, rno")
 })
 @Getter // 모든 필드의 getter 메서드 자동 생성
 @Builder // Builder 패턴 사용하여 객체 생성
@@ -0,0 +1,33 @@
+package org.zerock.b01.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+// 전체 내보내기(export)용 DTO -- 게시글 한 건과 해당 게시글의 댓글 목록
+@Data
+@Builder
+@AllArgsConstructor
+@NoArgsConstructor
+public class BoardExportDTO {
+    private Long bno;
+    private String title;
+    private String content;
+    private String writer;
+    private long replyCount;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime regDate;
+
+    @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+    private LocalDateTime modDate;
+
+    @Builder.Default
+    private List<ReplyDTO> replies = new ArrayList<>();
+}
@@ -11,5 +11,6 @@ public class BoardListReplyCountDTO {
     private String title;
     private String writer;
     private LocalDateTime regDate; // -- 등록 일자
+    private LocalDateTime modDate; // -- 수정 일자 (목록 행 조각 캐시 키)
     private Long replyCount; // 해당 게시글에 달린 댓글 수
 }
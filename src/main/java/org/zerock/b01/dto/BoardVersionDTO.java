@@ -0,0 +1,33 @@
+package org.zerock.b01.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+// 조건부 요청(If-None-Match / If-Modified-Since) 처리용 게시글 버전 정보 -- 엔티티를 읽지 않고 컬럼 3개만 조회
+@Getter
+@AllArgsConstructor
+@ToString
+public class BoardVersionDTO {
+    private Long bno;
+    private LocalDateTime modDate; // -- 게시글 수정 일자
+    private long replyVersion; // -- 댓글 등록/수정/삭제 시 +1
+
+    // 게시글 화면(/board/read) ETag -- 게시글 내용은 수정 일자가 바뀔 때만 달라진다
+    public String getBoardETag() {
+        return "\"b" + bno + "-" + getLastModified() + "\"";
+    }
+
+    // 댓글 목록(/replies/list/{bno}) ETag -- 게시글 수정과 무관하게 댓글이 바뀔 때만 달라진다
+    public String getRepliesETag() {
+        return "\"r" + bno + "-" + replyVersion + "\"";
+    }
+
+    // Last-Modified (epoch millis), 수정 일자가 없으면 -1 (헤더 생략)
+    public long getLastModified() {
+        return modDate == null ? -1 : modDate.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+}
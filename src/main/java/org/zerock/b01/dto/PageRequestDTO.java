@@ -10,6 +10,8 @@ import org.springframework.data.domain.Sort;
 
 import java.io.UnsupportedEncodingException;
 import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
 
 @Builder
 @Data
@@ -25,8 +27,14 @@ public class PageRequestDTO { // -- 페이징 관련 정보(page/size), 검색 
     private String type; // -- 검색 종류 t, c, w, tc, tw, twc
     private String keyword;
 
+    private String order; // -- 검색 결과 정렬 기준 : bno(기본값, 최신순) | relevance(정확도순, 전문 검색 인덱스 사용 시)
+
     private String link;
 
+    // -- keyset(seek) 페이징용 커서. null이면 기존 page 번호(OFFSET) 방식, 값이 있으면(빈 문자열 포함) 커서 방식
+    // -- 화면에는 방향 + 기준 bno를 Base64로 감싼 불투명한 문자열로만 노출한다
+    private String cursor;
+
     public String[] getTypes() { // -- type이라는 문자열을 배열로 반환
         if(type == null || type.isEmpty())
             return null;
@@ -37,6 +45,46 @@ public class PageRequestDTO { // -- 페이징 관련 정보(page/size), 검색 
         return PageRequest.of(this.page-1, this.size, Sort.by(props).descending());
     }
 
+    public boolean isRelevanceOrder() { // -- 정확도순 정렬 요청 여부
+        return "relevance".equals(order);
+    }
+
+    public boolean isCursorMode() { // -- 커서 방식 페이징 요청인지 여부
+        return cursor != null;
+    }
+
+    public Long getCursorBno() { // -- 커서가 가리키는 기준 bno (첫 페이지이거나 잘못된 커서면 null)
+        String raw = decodeCursor();
+        return raw == null ? null : Long.parseLong(raw.substring(1));
+    }
+
+    public boolean isCursorBackward() { // -- true : 기준 bno보다 최신 글(이전 페이지) 방향
+        String raw = decodeCursor();
+        return raw != null && raw.charAt(0) == 'p';
+    }
+
+    // 방향(n : 다음(과거 글), p : 이전(최신 글))과 기준 bno를 URL에 안전한 Base64 문자열로 인코딩
+    public static String encodeCursor(Long bno, boolean backward) {
+        String raw = (backward ? "p" : "n") + bno;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private String decodeCursor() {
+        if (cursor == null || cursor.isEmpty()) {
+            return null;
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            if (raw.length() < 2 || (raw.charAt(0) != 'n' && raw.charAt(0) != 'p')) {
+                return null;
+            }
+            Long.parseLong(raw.substring(1)); // -- 숫자 형식 검증
+            return raw;
+        } catch (IllegalArgumentException e) { // -- Base64 / 숫자 형식 오류 -> 첫 페이지로 취급
+            return null;
+        }
+    }
+
     public String getLink() { // -- 검색, 페이징 조건이 유지될 수 있도록 링크 생성
         if(link == null) {
             StringBuilder builder = new StringBuilder();
@@ -54,6 +102,15 @@ public class PageRequestDTO { // -- 페이징 관련 정보(page/size), 검색 
                 }catch (UnsupportedEncodingException e) {}
             }
 
+            // 지원하는 정렬 기준만 링크에 유지 -- 기본값(bno)과 그 외의 값은 생략
+            if (isRelevanceOrder()) {
+                builder.append("&order=relevance");
+            }
+
+            if (cursor != null) {
+                builder.append("&cursor=" + URLEncoder.encode(cursor, StandardCharsets.UTF_8)); // -- 요청 값을 그대로 다시 내보내므로 인코딩
+            }
+
             link = builder.toString();
         }
 
@@ -19,10 +19,13 @@ public class PageResponseDTO<E> {
     private boolean prev; // -- 이전 페이지 존재 여부
     private boolean next; // -- 다음 페이지 존재 여부
 
+    private String prevCursor; // -- 이전(최신 글) 방향 커서, 없으면 null
+    private String nextCursor; // -- 다음(과거 글) 방향 커서, 없으면 null
+
     private List<E> dtoList;
 
     @Builder(builderMethodName = "withAll")
-    public PageResponseDTO(PageRequestDTO pageRequestDTO, List<E> dtoList, int total) {
+    public PageResponseDTO(PageRequestDTO pageRequestDTO, List<E> dtoList, int total, String prevCursor, String nextCursor) {
         if(total <= 0) {
             return;
         }
@@ -42,5 +45,23 @@ public class PageResponseDTO<E> {
 
         this.prev = this.start > 1;
         this.next = total > this.end * this.size;
+
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+    }
+
+    // keyset(커서) 페이징용 -- 전체 개수(total)를 구하지 않고 앞/뒤 커서만으로 이동
+    @Builder(builderMethodName = "withCursor", builderClassName = "CursorBuilder")
+    public PageResponseDTO(PageRequestDTO pageRequestDTO, List<E> dtoList, String prevCursor, String nextCursor) {
+        this.page = pageRequestDTO.getPage();
+        this.size = pageRequestDTO.getSize();
+
+        this.dtoList = dtoList;
+
+        this.prevCursor = prevCursor;
+        this.nextCursor = nextCursor;
+
+        this.prev = prevCursor != null;
+        this.next = nextCursor != null;
     }
 }
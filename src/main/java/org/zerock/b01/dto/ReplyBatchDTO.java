@@ -0,0 +1,33 @@
+package org.zerock.b01.dto;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonValue;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.ToString;
+
+import java.util.List;
+
+/*
+    댓글 일괄 등록 요청 (POST /replies/batch)
+    - 요청 본문은 ReplyDTO의 JSON 배열 그대로 받는다 -- @JsonCreator(DELEGATING)로 배열을 replies 필드에 바인딩
+    - 목록으로 감싸서 @Valid가 각 항목까지 검증하도록 함 (오류 필드 예: replies[2].replyText)
+ */
+@ToString
+public class ReplyBatchDTO {
+
+    @NotEmpty
+    @Size(max = 1000) // -- 한 번의 요청으로 등록할 수 있는 최대 댓글 수
+    private final List<@Valid ReplyDTO> replies;
+
+    @JsonCreator(mode = JsonCreator.Mode.DELEGATING)
+    public ReplyBatchDTO(List<ReplyDTO> replies) {
+        this.replies = replies;
+    }
+
+    @JsonValue
+    public List<ReplyDTO> getReplies() {
+        return replies;
+    }
+}
@@ -31,6 +31,11 @@ public class ReplyDTO {
 
     @JsonIgnore
     private LocalDateTime modDate; // 댓글 수정일
+
+    // JPQL 생성자 프로젝션용 (ReplyRepository.listDTOOfBoard) -- 목록에서는 수정일을 사용하지 않는다
+    public ReplyDTO(Long rno, Long bno, String replyText, String replyer, LocalDateTime regDate) {
+        this(rno, bno, replyText, replyer, regDate, null);
+    }
 }
 
 /*
@@ -0,0 +1,22 @@
+package org.zerock.b01.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/*
+    게시글 변경 이벤트
+    - BoardServiceImpl에서 게시글 등록/수정/삭제 시 발행(ApplicationEventPublisher)
+    - 캐시 무효화처럼 게시글 변경에 반응해야 하는 컴포넌트는 서비스 코드를 수정하지 않고 이벤트를 구독해서 처리한다.
+      (@TransactionalEventListener : 트랜잭션 커밋 이후에 처리)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class BoardChangedEvent {
+
+    public enum Type { REGISTERED, MODIFIED, REMOVED }
+
+    private final Long bno;
+    private final Type type;
+}
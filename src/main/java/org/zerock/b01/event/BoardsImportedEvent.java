@@ -0,0 +1,20 @@
+package org.zerock.b01.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/*
+    게시글 일괄 가져오기(import) 이벤트
+    - BoardImportServiceImpl이 chunk 단위 트랜잭션마다 한 번 발행 (게시글마다 BoardChangedEvent를 발행하지 않음)
+    - 캐시는 전부 비우고, 전문 검색 인덱스는 bnos를 한 번에 조회해서 반영
+ */
+@Getter
+@ToString(exclude = "bnos")
+@AllArgsConstructor
+public class BoardsImportedEvent {
+
+    private final List<Long> bnos;
+}
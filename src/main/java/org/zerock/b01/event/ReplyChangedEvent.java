@@ -0,0 +1,29 @@
+package org.zerock.b01.event;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/*
+    댓글 변경 이벤트
+    - ReplyServiceImpl에서 댓글 등록/수정/삭제 시 발행
+    - 게시글 목록의 댓글 수가 바뀌므로 목록 캐시 등은 이 이벤트로 무효화한다
+    - 일괄 등록은 게시글마다 한 번만 발행 (rnos에 그 게시글의 댓글 번호를 모두 담는다)
+ */
+@Getter
+@ToString
+@AllArgsConstructor
+public class ReplyChangedEvent {
+
+    public enum Type { REGISTERED, MODIFIED, REMOVED }
+
+    private final Long bno; // -- 댓글이 달린 게시글 번호
+    private final List<Long> rnos; // -- 변경된 댓글 번호 (등록/수정/삭제는 한 건, 일괄 등록은 여러 건)
+    private final Type type;
+
+    public ReplyChangedEvent(Long bno, Long rno, Type type) {
+        this(bno, List.of(rno), type);
+    }
+}
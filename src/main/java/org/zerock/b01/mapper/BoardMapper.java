@@ -0,0 +1,23 @@
+package org.zerock.b01.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.zerock.b01.domain.Board;
+import org.zerock.b01.dto.BoardDTO;
+
+/*
+    MapStruct 매퍼 -- 컴파일 시점에 getter/builder 호출 코드를 생성 (BoardMapperImpl)
+    - ModelMapper와 달리 실행 중 리플렉션/타입맵 조회가 없어 목록 변환 비용이 작다
+    - componentModel = spring : 생성된 구현체가 Spring bean으로 등록되어 주입받아 사용
+ */
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface BoardMapper {
+
+    BoardDTO toDTO(Board board);
+
+    // 등록 일자/수정 일자는 Auditing이, 댓글 수/댓글 버전은 DB(SQL 증감)가 관리하므로 매핑하지 않는다
+    @Mapping(target = "replyCount", ignore = true)
+    @Mapping(target = "replyVersion", ignore = true)
+    Board toEntity(BoardDTO boardDTO);
+}
@@ -0,0 +1,16 @@
+package org.zerock.b01.mapper;
+
+import org.mapstruct.Mapper;
+import org.mapstruct.Mapping;
+import org.mapstruct.MappingConstants;
+import org.zerock.b01.domain.Reply;
+import org.zerock.b01.dto.ReplyDTO;
+
+// Reply 엔티티 -> ReplyDTO 변환 (컴파일 시점 생성 코드)
+@Mapper(componentModel = MappingConstants.ComponentModel.SPRING)
+public interface ReplyMapper {
+
+    // 게시글 번호는 board.bno에서 가져온다 -- LAZY 프록시의 식별자만 읽으므로 Board 조회 쿼리가 발생하지 않음
+    @Mapping(target = "bno", source = "board.bno")
+    ReplyDTO toDTO(Reply reply);
+}
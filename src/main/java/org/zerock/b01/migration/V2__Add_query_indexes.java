@@ -0,0 +1,76 @@
+package org.zerock.b01.migration;
+
+import lombok.extern.log4j.Log4j2;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/*
+    조회 쿼리용 인덱스 (Flyway Java 마이그레이션 -- Spring Boot가 JavaMigration 빈을 Flyway에 등록)
+    - reply(board_bno, rno) : 게시글별 댓글 목록 / 커서 조회 (board_bno = ? and rno > ? order by rno)
+    - board(writer, bno)    : 작성자별 글 목록 (writer = ? order by bno desc)
+    - board(regdate)        : 작성일 정렬 목록 (order by regdate desc limit ?)
+    - 기존 reply(board_bno) 인덱스는 (board_bno, rno)의 앞부분과 같으므로 제거 (외래 키는 새 인덱스를 사용)
+
+    MySQL은 CREATE INDEX IF NOT EXISTS를 지원하지 않고, 마이그레이션 도입 전 ddl-auto로 만들어진 DB에는
+    일부 인덱스가 이미 있을 수 있으므로 information_schema에서 확인한 뒤 없는 것만 만든다
+ */
+@Component
+@Log4j2
+public class V2__Add_query_indexes extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+
+        createIndexIfMissing(connection, "reply", "idx_reply_board_bno_rno", "board_bno, rno");
+        createIndexIfMissing(connection, "board", "idx_board_writer_bno", "writer, bno");
+        createIndexIfMissing(connection, "board", "idx_board_regdate", "regdate");
+
+        dropIndexIfExists(connection, "reply", "idx_reply_board_bno");
+    }
+
+    private void createIndexIfMissing(Connection connection, String table, String index, String columns) throws SQLException {
+        if (indexExists(connection, table, index)) {
+            log.info("index {}.{} already exists", table, index);
+            return;
+        }
+
+        log.info("create index {} on {} ({})", index, table, columns);
+        execute(connection, "create index " + index + " on " + table + " (" + columns + ")");
+    }
+
+    private void dropIndexIfExists(Connection connection, String table, String index) throws SQLException {
+        if (!indexExists(connection, table, index)) {
+            return;
+        }
+
+        log.info("drop index {} on {}", index, table);
+        execute(connection, "drop index " + index + " on " + table);
+    }
+
+    private boolean indexExists(Connection connection, String table, String index) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement(
+                "select count(*) from information_schema.statistics " +
+                        "where table_schema = database() and table_name = ? and index_name = ?")) {
+            ps.setString(1, table);
+            ps.setString(2, index);
+
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getLong(1) > 0;
+            }
+        }
+    }
+
+    private void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package org.zerock.b01.repository;
+
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.zerock.b01.dto.BoardExportDTO;
+import org.zerock.b01.dto.ReplyDTO;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.function.Consumer;
+
+/*
+    게시글 + 댓글 전체 내보내기용 JDBC 저장소
+    - 엔티티/영속성 컨텍스트를 거치지 않고 ResultSet을 앞에서부터 한 행씩 읽는다 (forward-only)
+    - MySQL은 fetchSize = Integer.MIN_VALUE일 때 결과를 한꺼번에 메모리에 올리지 않고 스트리밍으로 전달
+    - bno, rno 순으로 정렬된 join 결과를 게시글 단위로 묶어서 하나씩 consumer에 넘기므로
+      메모리에는 현재 게시글 한 건(과 그 댓글)만 유지된다
+ */
+@Repository
+@Log4j2
+public class BoardExportRepository {
+
+    private static final String EXPORT_SQL =
+            "select b.bno, b.title, b.content, b.writer, b.reply_count, b.regdate, b.moddate, " +
+            "r.rno, r.reply_text, r.replyer, r.regdate as reply_regdate " +
+            "from board b left join reply r on r.board_bno = b.bno " +
+            "order by b.bno, r.rno";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public BoardExportRepository(DataSource dataSource,
+                                 @Value("${b01.export.fetch-size:-2147483648}") int fetchSize) {
+        // 내보내기 전용 JdbcTemplate -- 다른 조회에 스트리밍 fetch size가 적용되지 않도록 분리
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+    }
+
+    public void streamBoardsWithReplies(Consumer<BoardExportDTO> consumer) {
+        BoardExportDTO[] current = new BoardExportDTO[1]; // -- 현재 묶고 있는 게시글
+        long[] count = new long[1];
+
+        jdbcTemplate.query(EXPORT_SQL, rs -> {
+            long bno = rs.getLong("bno");
+
+            // 게시글 번호가 바뀌면 이전 게시글을 내보내고 새로 시작
+            if (current[0] == null || current[0].getBno() != bno) {
+                if (current[0] != null) {
+                    consumer.accept(current[0]);
+                    count[0]++;
+                }
+                current[0] = BoardExportDTO.builder()
+                        .bno(bno)
+                        .title(rs.getString("title"))
+                        .content(rs.getString("content"))
+                        .writer(rs.getString("writer"))
+                        .replyCount(rs.getLong("reply_count"))
+                        .regDate(toLocalDateTime(rs.getTimestamp("regdate")))
+                        .modDate(toLocalDateTime(rs.getTimestamp("moddate")))
+                        .build();
+            }
+
+            // left join -- 댓글이 없는 게시글은 rno가 null
+            long rno = rs.getLong("rno");
+            if (!rs.wasNull()) {
+                current[0].getReplies().add(ReplyDTO.builder()
+                        .rno(rno)
+                        .bno(bno)
+                        .replyText(rs.getString("reply_text"))
+                        .replyer(rs.getString("replyer"))
+                        .regDate(toLocalDateTime(rs.getTimestamp("reply_regdate")))
+                        .build());
+            }
+        });
+
+        // 마지막 게시글
+        if (current[0] != null) {
+            consumer.accept(current[0]);
+            count[0]++;
+        }
+
+        log.info("exported boards: " + count[0]);
+    }
+
+    private LocalDateTime toLocalDateTime(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime();
+    }
+}
@@ -0,0 +1,64 @@
+package org.zerock.b01.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.zerock.b01.dto.BoardExportDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+    게시글 대량 등록용 JDBC 저장소 (데이터 이전/가져오기)
+    - Board도 IDENTITY 전략이라 Hibernate insert는 배치되지 않으므로 JdbcTemplate batch 사용
+    - 댓글 수(reply_count)는 함께 등록하는 댓글 수로 바로 저장
+ */
+@Repository
+@RequiredArgsConstructor
+public class BoardJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "insert into board (title, content, writer, reply_count, regdate, moddate) values (?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 원본의 등록/수정 일자가 있으면 유지하고, 없으면 now 사용 -- 생성된 bno를 입력 순서대로 반환
+    public List<Long> insertBatch(List<BoardExportDTO> boards, LocalDateTime now) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"bno"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        BoardExportDTO board = boards.get(i);
+                        LocalDateTime regDate = board.getRegDate() != null ? board.getRegDate() : now;
+                        LocalDateTime modDate = board.getModDate() != null ? board.getModDate() : regDate;
+                        ps.setString(1, board.getTitle());
+                        ps.setString(2, board.getContent());
+                        ps.setString(3, board.getWriter());
+                        ps.setLong(4, board.getReplies().size());
+                        ps.setTimestamp(5, Timestamp.valueOf(regDate));
+                        ps.setTimestamp(6, Timestamp.valueOf(modDate));
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return boards.size();
+                    }
+                }, keyHolder);
+
+        List<Long> bnos = new ArrayList<>(boards.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            bnos.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return bnos;
+    }
+}
@@ -1,16 +1,28 @@
 package org.zerock.b01.repository;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import org.zerock.b01.domain.Board;
+import org.zerock.b01.dto.BoardVersionDTO;
 import org.zerock.b01.repository.search.BoardSearch;
 
+import java.util.Optional;
+
 
 // JPA 레포지토리로, 데이터베이스와 상호작용하는 인터페이스 => 보통 JpaRepository를 상속받아 CRUD(Create, Read, Update, Delete) 작업을 수행
 public interface BoardRepository extends JpaRepository<Board, Long>, BoardSearch {
 
+    // 댓글 수 증감 쿼리 전용 query space (어떤 엔티티 캐시 영역과도 겹치지 않는 이름)
+    String REPLY_COUNT_SPACE = "board_reply_count";
+
     // Query Method : 메서드 이름을 기반으로 쿼리를 자동 생성 (규칙에 따라 작성하여 다양한 조건 표현)
     // @Query : JPQL 또는 native SQL 쿼리를 직접 작성하여 복잡한 쿼리 정의
 
@@ -49,4 +61,37 @@ public interface BoardRepository extends JpaRepository<Board, Long>, BoardSearch
     // native 속성을 지정하는 예제
     @Query(value = "select now()", nativeQuery = true)
     String getTime();
+
+    // 댓글 수 증감 -- 엔티티를 읽고 수정하는(read-modify-write) 대신 DB에서 원자적으로 더한다
+    // @Modifying : select가 아닌 update/delete 쿼리임을 명시
+    // native 쿼리는 기본적으로 2차 캐시 영역 전체를 비우므로, 별도의 query space를 지정해 캐시된 게시글/댓글이 제거되지 않도록 한다
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REPLY_COUNT_SPACE))
+    @Query(value = "update board set reply_count = reply_count + :delta, reply_version = reply_version + 1 " +
+            "where bno = :bno", nativeQuery = true)
+    int updateReplyCount(@Param("bno") Long bno, @Param("delta") long delta);
+
+    // 댓글 수정처럼 댓글 수는 그대로이고 내용만 바뀐 경우 -- 댓글 버전만 +1 (댓글 목록 ETag 변경)
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REPLY_COUNT_SPACE))
+    @Query(value = "update board set reply_version = reply_version + 1 where bno = :bno", nativeQuery = true)
+    int updateReplyVersion(@Param("bno") Long bno);
+
+    // 조건부 요청 처리용 -- 엔티티(2차 캐시 포함)를 거치지 않고 수정 일자와 댓글 버전만 조회
+    @Query("select new org.zerock.b01.dto.BoardVersionDTO(b.bno, b.modDate, b.replyVersion) from Board b where b.bno = :bno")
+    Optional<BoardVersionDTO> findVersion(@Param("bno") Long bno);
+
+    // 댓글 수 재계산 (정합성 복구용) -- bno 구간 단위로 실제 댓글 수를 다시 집계
+    @Modifying
+    @Transactional
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = REPLY_COUNT_SPACE))
+    @Query(value = "update board b set b.reply_count = " +
+            "(select count(*) from reply r where r.board_bno = b.bno) " +
+            "where b.bno between :fromBno and :toBno", nativeQuery = true)
+    int reconcileReplyCount(@Param("fromBno") Long fromBno, @Param("toBno") Long toBno);
+
+    @Query("select max(b.bno) from Board b")
+    Long getMaxBno();
 }
@@ -0,0 +1,75 @@
+package org.zerock.b01.repository;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Repository;
+import org.zerock.b01.dto.ReplyDTO;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+    댓글 대량 등록용 JDBC 저장소
+    - Reply는 IDENTITY 전략이라 Hibernate가 insert를 한 건씩 실행(배치 불가)하므로 JdbcTemplate batch로 직접 insert
+    - 생성된 rno는 KeyHolder로 돌려받는다 (MySQL은 rewriteBatchedStatements 사용 시에도 순서대로 반환)
+    - 엔티티를 거치지 않으므로 regdate/moddate(Auditing)와 게시글 댓글 수 증가는 호출하는 쪽에서 처리
+      (API 요청은 항상 서버 시각, 데이터 가져오기만 원본의 등록 일자를 그대로 사용 -- insertBatchWithDates)
+ */
+@Repository
+@RequiredArgsConstructor
+@Log4j2
+public class ReplyJdbcRepository {
+
+    private static final String INSERT_SQL =
+            "insert into reply (board_bno, reply_text, replyer, regdate, moddate) values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // 한 번의 JDBC batch로 insert 후 생성된 rno 목록을 입력 순서대로 반환 -- 등록/수정 일자는 now (ReplyDTO의 regDate는 무시)
+    public List<Long> insertBatch(List<ReplyDTO> replies, LocalDateTime now) {
+        return insertBatch(replies, now, false);
+    }
+
+    // 데이터 가져오기용 -- ReplyDTO에 등록 일자가 있으면 그대로 사용 (없으면 now)
+    public List<Long> insertBatchWithDates(List<ReplyDTO> replies, LocalDateTime now) {
+        return insertBatch(replies, now, true);
+    }
+
+    private List<Long> insertBatch(List<ReplyDTO> replies, LocalDateTime now, boolean keepRegDate) {
+        KeyHolder keyHolder = new GeneratedKeyHolder();
+
+        jdbcTemplate.batchUpdate(con -> con.prepareStatement(INSERT_SQL, new String[]{"rno"}),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        ReplyDTO replyDTO = replies.get(i);
+                        Timestamp timestamp = Timestamp.valueOf(keepRegDate && replyDTO.getRegDate() != null ? replyDTO.getRegDate() : now);
+                        ps.setLong(1, replyDTO.getBno());
+                        ps.setString(2, replyDTO.getReplyText());
+                        ps.setString(3, replyDTO.getReplyer());
+                        ps.setTimestamp(4, timestamp);
+                        ps.setTimestamp(5, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return replies.size();
+                    }
+                }, keyHolder);
+
+        List<Long> rnos = new ArrayList<>(replies.size());
+        for (Map<String, Object> keys : keyHolder.getKeyList()) {
+            rnos.add(((Number) keys.values().iterator().next()).longValue());
+        }
+        return rnos;
+    }
+}
@@ -6,10 +6,26 @@ import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.zerock.b01.domain.Reply;
+import org.zerock.b01.dto.ReplyDTO;
+
+import java.util.List;
 
 public interface ReplyRepository extends JpaRepository<Reply, Long> {
 
     // @Param : 메서드 파라미터를 쿼리의 명명된 파라미터(:bno 부분)에 바인딩
     @Query("select r from Reply r where r.board.bno = :bno")
     Page<Reply> listOfBoard(@Param("bno") Long bno, Pageable pageable);
+
+    // 댓글 목록 화면용 DTO 프로젝션 -- 엔티티를 영속성 컨텍스트에 올리지 않고 필요한 컬럼만 조회
+    // r.board.bno는 reply 테이블의 FK(board_bno) 컬럼이므로 board 테이블과 join 하지 않는다
+    @Query(value = "select new org.zerock.b01.dto.ReplyDTO(r.rno, r.board.bno, r.replyText, r.replyer, r.regDate) " +
+            "from Reply r where r.board.bno = :bno",
+            countQuery = "select count(r) from Reply r where r.board.bno = :bno")
+    Page<ReplyDTO> listDTOOfBoard(@Param("bno") Long bno, Pageable pageable);
+
+    // 커서(keyset) 방식 댓글 목록 -- afterRno 다음 댓글부터 rno 오름차순 (count 쿼리 없음)
+    // (board_bno, rno) 인덱스 범위 조회로 처리되므로 뒤쪽 댓글도 OFFSET 없이 바로 찾는다
+    @Query("select new org.zerock.b01.dto.ReplyDTO(r.rno, r.board.bno, r.replyText, r.replyer, r.regDate) " +
+            "from Reply r where r.board.bno = :bno and r.rno > :afterRno order by r.rno asc")
+    List<ReplyDTO> listDTOOfBoardAfter(@Param("bno") Long bno, @Param("afterRno") Long afterRno, Pageable pageable);
 }
@@ -0,0 +1,62 @@
+package org.zerock.b01.repository.search;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.zerock.b01.event.BoardChangedEvent;
+import org.zerock.b01.event.BoardsImportedEvent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/*
+    게시글 전체 개수(total) 캐시
+    - 목록 화면은 페이지 번호 10개를 그리기 위해서만 total을 사용하므로 약간 오래된 값이어도 문제가 없다.
+    - (types, keyword) 조합별로 짧은 TTL 동안 보관하고, 게시글이 등록/수정/삭제되면 커밋 이후 전부 비운다.
+ */
+@Component
+@Log4j2
+public class BoardCountCache {
+
+    private final Cache<String, Long> cache;
+
+    public BoardCountCache(@Value("${b01.board.count-cache.ttl:30s}") Duration ttl,
+                           @Value("${b01.board.count-cache.maximum-size:1000}") long maximumSize) {
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    // 캐시에 값이 없을 때만 counter(count 쿼리)를 실행
+    public long get(String[] types, String keyword, LongSupplier counter) {
+        return cache.get(key(types, keyword), k -> counter.getAsLong());
+    }
+
+    // 게시글 수정도 검색 결과 개수를 바꿀 수 있으므로(제목/내용 변경) 종류와 상관없이 모두 비운다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        log.debug("invalidate board count cache : {}", event);
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardsImported(BoardsImportedEvent event) {
+        log.debug("invalidate board count cache : {}", event);
+        cache.invalidateAll();
+    }
+
+    // "tc"와 "ct"처럼 순서만 다른 검색 조건은 같은 키가 되도록 정렬
+    private String key(String[] types, String keyword) {
+        if (types == null || types.length == 0 || keyword == null) {
+            return "";
+        }
+        String[] sorted = types.clone();
+        Arrays.sort(sorted);
+        return String.join("", sorted) + "|" + keyword;
+    }
+}
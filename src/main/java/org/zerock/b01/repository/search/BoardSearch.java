@@ -5,9 +5,25 @@ import org.springframework.data.domain.Pageable;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
 
+import java.util.List;
+
 public interface BoardSearch {
+
+    // 정렬 기준으로 지정하면 전문 검색 인덱스의 정확도(score) 순으로 정렬 (인덱스를 사용할 수 없으면 bno 내림차순)
+    String RELEVANCE = "_score";
+
+    // 검색어가 있고 전문 검색 인덱스(b01.search.fulltext.enabled)를 사용할 수 있으면 아래 검색은 모두 인덱스에서 bno를 찾고
+    // DB에서는 해당 bno만 조회한다 -- 인덱스가 없거나 검색에 실패하면 QueryDSL LIKE 검색으로 대체
     Page<Board> search1(Pageable pageable);
     Page<Board> searchAll(String[] types, String keyword, Pageable pageable);
     Page<BoardListReplyCountDTO> searchWithReplyCount(String[] types, String keyword, Pageable pageable);
 
+    // 전체 개수(total)를 구하는 방식을 직접 지정 -- 위의 메서드들은 설정(b01.board.count-mode)의 기본 방식을 사용
+    Page<Board> searchAll(String[] types, String keyword, Pageable pageable, CountMode countMode);
+    Page<BoardListReplyCountDTO> searchWithReplyCount(String[] types, String keyword, Pageable pageable, CountMode countMode);
+
+    // keyset(seek) 페이징 -- OFFSET 대신 기준 bno(cursorBno) 다음부터 limit개를 조회 (결과는 항상 bno 내림차순)
+    // backward가 true면 cursorBno보다 큰(최신) 글 방향으로 조회
+    List<BoardListReplyCountDTO> searchWithReplyCountByCursor(String[] types, String keyword, Long cursorBno, boolean backward, int limit);
+
 }
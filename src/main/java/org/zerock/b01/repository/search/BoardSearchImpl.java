@@ -3,16 +3,31 @@ package org.zerock.b01.repository.search;
 import com.querydsl.core.BooleanBuilder;
 import com.querydsl.core.types.Projections;
 import com.querydsl.jpa.JPQLQuery;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.support.QuerydslRepositorySupport;
+import org.springframework.data.support.PageableExecutionUtils;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.domain.QBoard;
-import org.zerock.b01.domain.QReply;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.stream.Collectors;
 
 /*
     QueryDSL이 엔티티 클래스를 기반으로 생성한 메타 데이터 클래스 -- QEntityName
@@ -57,6 +72,7 @@ import java.util.List;
 
 
 
+@Log4j2
 public class BoardSearchImpl extends QuerydslRepositorySupport implements BoardSearch {
 
     /*
@@ -65,9 +81,26 @@ public class BoardSearchImpl extends QuerydslRepositorySupport implements BoardS
             -- 쿼리를 쉽게 작성하고 실행할 수 있는 다양한 메서드 제공
             
      */
-    public BoardSearchImpl() {
+    private final BoardCountCache boardCountCache;
+
+    private final CountMode defaultCountMode; // -- 전체 개수를 구하는 기본 방식
+
+    // 전문 검색 인덱스 (b01.search.fulltext.enabled=true 일 때만 존재)
+    private final ObjectProvider<BoardTextIndex> boardTextIndexProvider;
+
+    // 목록(fetch) / 전체 개수(count) 쿼리 시간 측정 -- b01.board.search.query{phase, count.mode}
+    private final MeterRegistry meterRegistry;
+
+    public BoardSearchImpl(BoardCountCache boardCountCache,
+                           @Value("${b01.board.count-mode:CACHED}") CountMode defaultCountMode,
+                           ObjectProvider<BoardTextIndex> boardTextIndexProvider,
+                           MeterRegistry meterRegistry) {
         super(Board.class); // -- QuerydslRepositorySupport 생성자 호출 + Board.class 매개변수로 전달
         // -- Board 엔티티와 관련된 작업을 수행할 수 있게 객체 생성
+        this.boardCountCache = boardCountCache;
+        this.defaultCountMode = defaultCountMode;
+        this.boardTextIndexProvider = boardTextIndexProvider;
+        this.meterRegistry = meterRegistry;
     }
 
     // Pageable 객체를 받아 페이징된 결과를 반환하는 메서드
@@ -115,121 +148,270 @@ public class BoardSearchImpl extends QuerydslRepositorySupport implements BoardS
     // types[], keyword를 사용하여 동적 검색 조건을 적용하고, 페이징 처리를 수행
     @Override
     public Page<Board> searchAll(String[] types, String keyword, Pageable pageable) {
-        QBoard board = QBoard.board;
-        JPQLQuery<Board> query = from(board);
+        return searchAll(types, keyword, pageable, defaultCountMode);
+    }
 
-        // [동적 검색 조건] : 검색 조건(types)과 키워드(keyword)가 있다면,
-        if ((types != null) && (types.length > 0) && keyword != null) {
+    @Override
+    public Page<Board> searchAll(String[] types, String keyword, Pageable pageable, CountMode countMode) {
+        QBoard board = QBoard.board;
 
-            // BooleanBuilder를 사용하여 OR 조건을 조합
-            BooleanBuilder booleanBuilder = new BooleanBuilder(); // ()
+        // 검색어가 있고 전문 검색 인덱스를 사용할 수 있으면 인덱스로 검색 (실패하면 아래 QueryDSL 검색으로 대체)
+        BoardTextIndex boardTextIndex = textIndexFor(types, keyword);
+        if (boardTextIndex != null) {
+            try {
+                return searchByIndex(boardTextIndex, types, keyword, pageable,
+                        bnos -> from(board).where(board.bno.in(bnos)).fetch(), Board::getBno);
+            } catch (IOException e) {
+                log.warn("full-text search failed, falling back to QueryDSL", e);
+            }
+        }
 
-            // types[] 각 요소에 대해 switch를 사용하여 title, content, writer 필드에 대해 조건을 추가
-            for (String type : types) {
-                switch (type) {
-                    case "t":
-                        booleanBuilder.or(board.title.contains(keyword));
-                        break;
-                    case "c":
-                        booleanBuilder.or(board.content.contains(keyword));
-                        break;
-                    case "w":
-                        booleanBuilder.or(board.writer.contains(keyword));
-                        break;
-                }
-            } // end for
+        pageable = withoutRelevance(pageable);
 
-            query.where(booleanBuilder); // -- 최종적으로 booleanBuilder를 where 절에 추가
+        JPQLQuery<Board> query = from(board);
 
-        } // end if
+        // [동적 검색 조건] : 검색 조건(types)과 키워드(keyword)가 있다면 title, content, writer에 대한 OR 조건을 where 절에 추가
+        query.where(keywordCondition(board, types, keyword));
 
         // bno > 0 -- bno 필드가 0보다 큰 레코드를 조회하는 기본 조건 추가 -- 앞선 조건과 AND로 결합
         query.where(board.bno.gt(0L));
 
-        // paging -- applyPagination()를 활용하여 pageable 객체를 쿼리에 적용 (pageable : 페이지 번호와 페이지 크기 등 페이징 정보가 반영)
-        this.getQuerydsl().applyPagination(pageable, query);
-
-        // fetch() -- 쿼리 실행
-        List<Board> list = query.fetch();
-
-        // fetchCount() -- 쿼리를 실행하여 조건에 맞는 전체 레코드 수를 반환
-        long count = query.fetchCount();
-
-        // List<T> : 실제 목록 데이터
-        // Pageable : 페이지 관련 정보를 가진 객체
-        // long : 전체 개수
-        return new PageImpl<>(list, pageable, count); // -- 페이징된 데이터 목록, 페이지 정보, 전체 레코드 수를 포함
+        // 페이징 + 전체 개수 처리 (countMode에 따라 count 쿼리 실행 여부가 달라짐)
+        return fetchPage(query, pageable, types, keyword, countMode);
     }
 
     @Override
     public Page<BoardListReplyCountDTO> searchWithReplyCount(String[] types, String keyword, Pageable pageable) {
+        return searchWithReplyCount(types, keyword, pageable, defaultCountMode);
+    }
 
-        // Board, Reply 엔티티 JPQL 쿼리 사용 위해 QBoard, QReply 객체 생성
+    @Override
+    public Page<BoardListReplyCountDTO> searchWithReplyCount(String[] types, String keyword, Pageable pageable, CountMode countMode) {
+
+        // 검색어가 있고 전문 검색 인덱스를 사용할 수 있으면 인덱스로 검색 (실패하면 아래 QueryDSL 검색으로 대체)
+        BoardTextIndex boardTextIndex = textIndexFor(types, keyword);
+        if (boardTextIndex != null) {
+            try {
+                return searchByIndex(boardTextIndex, types, keyword, pageable,
+                        this::fetchListRows, BoardListReplyCountDTO::getBno);
+            } catch (IOException e) {
+                log.warn("full-text search failed, falling back to QueryDSL", e);
+            }
+        }
+
+        pageable = withoutRelevance(pageable);
+
+        // Board 엔티티 JPQL 쿼리 사용 위해 QBoard 객체 생성
         QBoard board = QBoard.board;
-        QReply reply = QReply.reply;
 
         // 기본 JPQL 쿼리 생성
         JPQLQuery<Board> query = from(board); // select * from Board
-        // Reply 엔티티를 Board 엔티티에 Left join
-        // on(조인절 조건) -- Reply 엔티티의 board 필드가 Board 엔티티의 기본 키와 일치하는 경우에만 조인
-        /*
-            Left Join
-            왼쪽 테이블(Board)의 모든 레코드와 오른쪽 테이블(Reply)의 매칭되는 레코드를 반환 (매칭되는 레코드가 없으면 오른쪽 테이블 값은 NULL)
-         */
-        query.leftJoin(reply).on(reply.board.eq(board));
+        // 댓글 수는 Board.replyCount 컬럼에 유지되므로 Reply와 left join + group by 하지 않는다
 
-        query.groupBy(board); // -- Board 엔티티를 기준으로 그룹화
+        // [동적 검색 조건] : 검색 조건(types)과 키워드(keyword)가 있다면 title, content, writer에 대한 OR 조건을 where 절에 추가
+        query.where(keywordCondition(board, types, keyword));
 
-        // [동적 검색 조건] : 검색 조건(types)과 키워드(keyword)가 있다면,
-        if ((types != null) && (types.length > 0) && keyword != null) {
+        // bno > 0 -- bno 필드가 0보다 큰 레코드를 조회하는 기본 조건 추가 -- 앞선 조건과 AND로 결합
+        query.where(board.bno.gt(0L));
 
-            // BooleanBuilder를 사용하여 OR 조건을 조합
-            BooleanBuilder booleanBuilder = new BooleanBuilder(); // ()
+        // 검색 결과를 BoardListReplyCountDTO 객체로 변환 (Projections.bean())
+        JPQLQuery<BoardListReplyCountDTO> dtoQuery = query.select(Projections.bean(BoardListReplyCountDTO.class,
+                board.bno,
+                board.title,
+                board.writer,
+                board.regDate,
+                board.modDate, // -- 목록 행 조각 캐시 키 (BoardListFragmentCache)
+                board.replyCount // -- 비정규화된 댓글 수 컬럼을 그대로 읽음
+        ));
 
-            // types[] 각 요소에 대해 switch를 사용하여 title, content, writer 필드에 대해 조건을 추가
-            for (String type : types) {
-                switch (type) {
-                    case "t":
-                        booleanBuilder.or(board.title.contains(keyword));
-                        break;
-                    case "c":
-                        booleanBuilder.or(board.content.contains(keyword));
-                        break;
-                    case "w":
-                        booleanBuilder.or(board.writer.contains(keyword));
-                        break;
+        // 페이징 + 전체 개수 처리 (countMode에 따라 count 쿼리 실행 여부가 달라짐)
+        return fetchPage(dtoQuery, pageable, types, keyword, countMode);
+    }
+
+    @Override
+    public List<BoardListReplyCountDTO> searchWithReplyCountByCursor(String[] types, String keyword, Long cursorBno, boolean backward, int limit) {
+
+        // 검색어가 있으면 커서 방식도 전문 검색 인덱스에서 기준 bno 다음 limit개를 찾는다 (실패하면 아래 QueryDSL 검색으로 대체)
+        BoardTextIndex boardTextIndex = textIndexFor(types, keyword);
+        if (boardTextIndex != null) {
+            try {
+                List<Long> bnos = boardTextIndex.searchAfter(types, keyword, cursorBno, backward, limit);
+                List<BoardListReplyCountDTO> dtoList = new ArrayList<>(inIndexOrder(bnos, fetchListRows(bnos), BoardListReplyCountDTO::getBno));
+                if (backward) {
+                    Collections.reverse(dtoList);
                 }
-            } // end for
+                return dtoList;
+            } catch (IOException e) {
+                log.warn("full-text search failed, falling back to QueryDSL", e);
+            }
+        }
 
-            query.where(booleanBuilder); // -- 최종적으로 booleanBuilder를 where 절에 추가
+        QBoard board = QBoard.board;
 
-        } // end if
+        JPQLQuery<Board> query = from(board);
 
-        // bno > 0 -- bno 필드가 0보다 큰 레코드를 조회하는 기본 조건 추가 -- 앞선 조건과 AND로 결합
+        query.where(keywordCondition(board, types, keyword));
         query.where(board.bno.gt(0L));
 
-        // 검색 결과를 BoardListReplyCountDTO 객체로 변환 (Projections.bean())
+        // 커서 조건 -- OFFSET 없이 PK 인덱스에서 바로 시작 위치를 찾으므로 몇 번째 페이지든 비용이 같다
+        if (cursorBno != null) {
+            query.where(backward ? board.bno.gt(cursorBno) : board.bno.lt(cursorBno));
+        }
+
         JPQLQuery<BoardListReplyCountDTO> dtoQuery = query.select(Projections.bean(BoardListReplyCountDTO.class,
                 board.bno,
                 board.title,
                 board.writer,
                 board.regDate,
-                reply.count().as("replyCount") // -- 댓글 수를 replyCount 필드에 매핑
+                board.modDate,
+                board.replyCount
         ));
 
+        // 이전 페이지 방향은 기준점에서 가까운 글부터 가져오기 위해 오름차순으로 조회한 뒤 뒤집는다
+        dtoQuery.orderBy(backward ? board.bno.asc() : board.bno.desc());
+        dtoQuery.limit(limit);
+
+        List<BoardListReplyCountDTO> dtoList = new ArrayList<>(dtoQuery.fetch());
+
+        if (backward) {
+            Collections.reverse(dtoList);
+        }
+
+        return dtoList;
+    }
+
+    // 검색어가 있고 전문 검색 인덱스를 사용할 수 있으면 인덱스 반환, 아니면 null (QueryDSL LIKE 검색)
+    private BoardTextIndex textIndexFor(String[] types, String keyword) {
+        if ((types == null) || (types.length == 0) || keyword == null || keyword.isBlank()) {
+            return null;
+        }
+        return boardTextIndexProvider.getIfAvailable();
+    }
+
+    // 정확도 정렬은 인덱스에서만 가능하므로 QueryDSL 검색에서는 bno 내림차순으로 대체
+    private Pageable withoutRelevance(Pageable pageable) {
+        if (pageable.getSort().getOrderFor(RELEVANCE) != null) {
+            return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), Sort.by("bno").descending());
+        }
+        return pageable;
+    }
+
+    // 전문 검색 인덱스에서 현재 페이지의 bno 목록을 구한 뒤, loader로 해당 bno의 행만 bno in (...)으로 조회
+    private <T> Page<T> searchByIndex(BoardTextIndex boardTextIndex, String[] types, String keyword, Pageable pageable,
+                                      Function<List<Long>, List<T>> loader, Function<T, Long> bnoOf) throws IOException {
+        boolean relevance = pageable.getSort().getOrderFor(RELEVANCE) != null;
+
+        BoardTextIndex.Hits hits = boardTextIndex.search(types, keyword, (int) pageable.getOffset(), pageable.getPageSize(), relevance);
+
+        if (hits.getBnos().isEmpty()) {
+            return new PageImpl<>(List.of(), pageable, hits.getTotal());
+        }
+
+        List<T> dtoList = inIndexOrder(hits.getBnos(), loader.apply(hits.getBnos()), bnoOf);
+
+        return new PageImpl<>(dtoList, pageable, hits.getTotal());
+    }
+
+    // 목록 화면에 필요한 컬럼만 bno in (...)으로 조회
+    private List<BoardListReplyCountDTO> fetchListRows(List<Long> bnos) {
+        if (bnos.isEmpty()) {
+            return List.of();
+        }
+
+        QBoard board = QBoard.board;
+
+        return from(board)
+                .select(Projections.bean(BoardListReplyCountDTO.class,
+                        board.bno,
+                        board.title,
+                        board.writer,
+                        board.regDate,
+                        board.modDate,
+                        board.replyCount
+                ))
+                .where(board.bno.in(bnos))
+                .fetch();
+    }
+
+    // DB 조회 결과를 인덱스 검색 순서(정확도 또는 bno)대로 다시 정렬 -- 인덱스에만 남아 있는 삭제된 글은 제외
+    private static <T> List<T> inIndexOrder(List<Long> bnos, List<T> rows, Function<T, Long> bnoOf) {
+        Map<Long, T> rowMap = rows.stream()
+                .collect(Collectors.toMap(bnoOf, Function.identity()));
+
+        return bnos.stream()
+                .map(rowMap::get)
+                .filter(Objects::nonNull)
+                .toList();
+    }
+
+    // 페이징을 적용해서 목록을 조회하고, countMode에 따라 전체 개수를 구해 Page로 반환
+    private <T> Page<T> fetchPage(JPQLQuery<T> query, Pageable pageable, String[] types, String keyword, CountMode countMode) {
+
+        if (countMode == CountMode.LOOKAHEAD) {
+            // count 쿼리 없이 한 건을 더 조회해서 다음 페이지가 있는지만 판단
+            this.getQuerydsl().applySorting(pageable.getSort(), query);
+            query.offset(pageable.getOffset());
+            query.limit(pageable.getPageSize() + 1);
+
+            List<T> list = queryTimer("fetch", countMode).record(query::fetch);
+            boolean hasNext = list.size() > pageable.getPageSize();
+            if (hasNext) {
+                list = list.subList(0, pageable.getPageSize());
+            }
+
+            // 다음 페이지가 있으면 '현재 페이지까지 + 1'을 전체 개수로 사용 -- 화면에는 다음 페이지 번호까지만 표시된다
+            long total = pageable.getOffset() + list.size() + (hasNext ? 1 : 0);
+            return new PageImpl<>(list, pageable, total);
+        }
+
         // paging -- applyPagination()를 활용하여 pageable 객체를 쿼리에 적용 (pageable : 페이지 번호와 페이지 크기 등 페이징 정보가 반영)
-        this.getQuerydsl().applyPagination(pageable, dtoQuery);
+        this.getQuerydsl().applyPagination(pageable, query);
 
         // fetch() -- 쿼리 실행
-        List<BoardListReplyCountDTO> dtoList = dtoQuery.fetch();
+        List<T> list = queryTimer("fetch", countMode).record(query::fetch);
+
+        // fetchCount() -- 쿼리를 실행하여 조건에 맞는 전체 레코드 수를 반환 (캐시에 값이 있으면 실행되지 않으므로 기록되지 않음)
+        Timer countTimer = queryTimer("count", countMode);
+        LongSupplier counter = () -> countTimer.record(query::fetchCount);
+        if (countMode == CountMode.CACHED) {
+            LongSupplier queryCounter = counter;
+            counter = () -> boardCountCache.get(types, keyword, queryCounter);
+        }
+
+        // PageableExecutionUtils -- 첫 페이지의 결과가 size보다 적거나 마지막 페이지인 경우처럼
+        // 조회 결과만으로 전체 개수를 알 수 있으면 count 쿼리(counter)를 실행하지 않는다
+        return PageableExecutionUtils.getPage(list, pageable, counter);
+    }
 
-        // fetchCount() -- 쿼리를 실행하여 조건에 맞는 전체 레코드 수를 반환
-        long count = dtoQuery.fetchCount();
+    private Timer queryTimer(String phase, CountMode countMode) {
+        return Timer.builder("b01.board.search.query")
+                .tag("phase", phase)
+                .tag("count.mode", countMode.name())
+                .register(meterRegistry);
+    }
+
+    // types(t, c, w)와 keyword로 OR 검색 조건을 만든다 -- 조건이 없으면 비어 있는 BooleanBuilder (where 절에서 무시됨)
+    private BooleanBuilder keywordCondition(QBoard board, String[] types, String keyword) {
+        BooleanBuilder booleanBuilder = new BooleanBuilder(); // ()
+
+        if ((types != null) && (types.length > 0) && keyword != null) {
+            // types[] 각 요소에 대해 switch를 사용하여 title, content, writer 필드에 대해 조건을 추가
+            for (String type : types) {
+                switch (type) {
+                    case "t":
+                        booleanBuilder.or(board.title.contains(keyword));
+                        break;
+                    case "c":
+                        booleanBuilder.or(board.content.contains(keyword));
+                        break;
+                    case "w":
+                        booleanBuilder.or(board.writer.contains(keyword));
+                        break;
+                }
+            }
+        }
 
-        // List<T> : 실제 목록 데이터
-        // Pageable : 페이지 관련 정보를 가진 객체
-        // long : 전체 개수
-        return new PageImpl<>(dtoList, pageable, count); // -- 페이징된 데이터 목록, 페이지 정보, 전체 레코드 수를 포함
+        return booleanBuilder;
     }
 
 }
@@ -0,0 +1,95 @@
+package org.zerock.b01.repository.search;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.stream.Collectors;
+
+/*
+    BoardSearch(게시글 목록/검색) 메서드 실행 시간 측정 -- b01.board.search 타이머
+    - method : 호출한 BoardSearch 메서드 이름
+    - types : 검색 종류(t, c, w 조합, 정렬), 검색 조건이 없으면 none
+    - size : 페이지 크기 (사용자가 임의의 값을 보낼 수 있으므로 구간으로 묶어서 태그 수를 제한)
+    - count 쿼리 / 목록 쿼리 각각의 시간은 BoardSearchImpl의 b01.board.search.query 타이머
+ */
+@Aspect
+@Component
+@RequiredArgsConstructor
+public class BoardSearchMetricsAspect {
+
+    private final MeterRegistry meterRegistry;
+
+    @Around("execution(* org.zerock.b01.repository.search.BoardSearch.*(..))")
+    public Object time(ProceedingJoinPoint joinPoint) throws Throwable {
+        String[] types = null;
+        String keyword = null;
+        int size = -1;
+
+        for (Object arg : joinPoint.getArgs()) {
+            if (arg instanceof String[] array) {
+                types = array;
+            } else if (arg instanceof String value) {
+                keyword = value;
+            } else if (arg instanceof Pageable pageable && pageable.isPaged()) {
+                size = pageable.getPageSize();
+            }
+        }
+        // searchWithReplyCountByCursor(types, keyword, cursorBno, backward, limit) -- 마지막 int 인자가 조회 건수
+        Object[] args = joinPoint.getArgs();
+        if (size < 0 && args.length > 0 && args[args.length - 1] instanceof Integer limit) {
+            size = limit;
+        }
+
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String exception = "none";
+        try {
+            return joinPoint.proceed();
+        } catch (Throwable e) {
+            exception = e.getClass().getSimpleName();
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("b01.board.search")
+                    .description("BoardSearch query time (list + count)")
+                    .tag("method", joinPoint.getSignature().getName())
+                    .tag("types", typesTag(types, keyword))
+                    .tag("size", sizeTag(size))
+                    .tag("exception", exception)
+                    .register(meterRegistry));
+        }
+    }
+
+    private String typesTag(String[] types, String keyword) {
+        if (types == null || keyword == null || keyword.isEmpty()) {
+            return "none";
+        }
+        String tag = Arrays.stream(types)
+                .filter(type -> type.equals("t") || type.equals("c") || type.equals("w"))
+                .distinct()
+                .sorted()
+                .collect(Collectors.joining());
+        return tag.isEmpty() ? "none" : tag;
+    }
+
+    private String sizeTag(int size) {
+        if (size < 0) {
+            return "none";
+        }
+        if (size <= 10) {
+            return "10";
+        }
+        if (size <= 20) {
+            return "20";
+        }
+        if (size <= 50) {
+            return "50";
+        }
+        return size <= 100 ? "100" : "100+";
+    }
+}
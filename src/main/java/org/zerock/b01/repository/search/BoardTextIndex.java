@@ -0,0 +1,223 @@
+package org.zerock.b01.repository.search;
+
+import jakarta.annotation.PreDestroy;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.extern.log4j.Log4j2;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.ko.KoreanAnalyzer;
+import org.apache.lucene.analysis.miscellaneous.PerFieldAnalyzerWrapper;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TopDocs;
+import org.apache.lucene.store.FSDirectory;
+import org.apache.lucene.util.QueryBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.zerock.b01.domain.Board;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/*
+    게시글 전문 검색(full-text) 인덱스 -- Lucene 역색인을 로컬 디스크(b01.search.fulltext.index-dir)에 저장
+    - 기존 QueryDSL 검색은 title/content/writer에 LIKE '%keyword%'를 사용하므로 인덱스를 탈 수 없다.
+    - 제목/내용은 한국어 형태소 분석기(nori), 작성자는 StandardAnalyzer로 토큰화해서 색인한다.
+    - 검색 결과로는 bno 목록과 전체 개수만 돌려주고, 화면에 필요한 컬럼은 BoardSearchImpl에서 DB로 조회한다.
+ */
+@Component
+@ConditionalOnProperty(name = "b01.search.fulltext.enabled", havingValue = "true")
+@Log4j2
+public class BoardTextIndex {
+
+    // 검색 종류(t, c, w) -> 색인 필드
+    private static final Map<String, String> FIELDS = Map.of("t", "title", "c", "content", "w", "writer");
+
+    private final Analyzer analyzer;
+    private final FSDirectory directory;
+    private final IndexWriter writer;
+    private final SearcherManager searcherManager;
+
+    public BoardTextIndex(@Value("${b01.search.fulltext.index-dir:./data/board-index}") String indexDir) throws IOException {
+        this.analyzer = new PerFieldAnalyzerWrapper(new KoreanAnalyzer(), Map.of("writer", new StandardAnalyzer()));
+
+        Path path = Path.of(indexDir);
+        Files.createDirectories(path);
+
+        this.directory = FSDirectory.open(path);
+        this.writer = new IndexWriter(directory, new IndexWriterConfig(analyzer)
+                .setOpenMode(IndexWriterConfig.OpenMode.CREATE_OR_APPEND));
+        this.searcherManager = new SearcherManager(writer, null);
+
+        log.info("board text index opened : {} ({} docs)", path.toAbsolutePath(), writer.getDocStats().numDocs);
+    }
+
+    public boolean isEmpty() {
+        return writer.getDocStats().numDocs == 0;
+    }
+
+    // 게시글 색인 (같은 bno 문서가 있으면 교체)
+    public void index(Board board) throws IOException {
+        writer.updateDocument(idTerm(board.getBno()), toDocument(board));
+        commit();
+    }
+
+    // 여러 게시글을 한 번에 색인 -- 인덱스 재구성 시 사용 (커밋은 한 번만)
+    public void indexAll(List<Board> boards) throws IOException {
+        for (Board board : boards) {
+            writer.updateDocument(idTerm(board.getBno()), toDocument(board));
+        }
+        commit();
+    }
+
+    public void delete(Long bno) throws IOException {
+        writer.deleteDocuments(idTerm(bno));
+        commit();
+    }
+
+    /*
+        검색 -- types의 각 필드 중 하나라도 keyword의 모든 단어를 포함하면 일치
+        relevance가 true면 정확도(score) 순, false면 bno 내림차순
+     */
+    public Hits search(String[] types, String keyword, int offset, int limit, boolean relevance) throws IOException {
+        Query query = buildQuery(types, keyword);
+
+        if (query == null) { // -- 분석 결과 검색할 단어가 없는 경우
+            return new Hits(List.of(), 0);
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            int total = searcher.count(query);
+
+            TopDocs topDocs = relevance
+                    ? searcher.search(query, offset + limit)
+                    : searcher.search(query, offset + limit, new Sort(new SortField("bno", SortField.Type.LONG, true)));
+
+            return new Hits(bnos(searcher, topDocs, offset), total);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    /*
+        keyset(seek) 검색 -- cursorBno 다음부터 limit개의 bno (커서 방식 목록용, 전체 개수는 구하지 않음)
+        backward가 false면 cursorBno보다 작은 글을 bno 내림차순, true면 큰 글을 bno 오름차순으로 반환
+     */
+    public List<Long> searchAfter(String[] types, String keyword, Long cursorBno, boolean backward, int limit) throws IOException {
+        Query query = buildQuery(types, keyword);
+
+        if (query == null) {
+            return List.of();
+        }
+
+        if (cursorBno != null) {
+            // bno 범위는 점수에 영향이 없는 필터(FILTER)로 추가 -- bno 정렬용 doc values를 그대로 사용
+            Query range = backward
+                    ? NumericDocValuesField.newSlowRangeQuery("bno", cursorBno + 1, Long.MAX_VALUE)
+                    : NumericDocValuesField.newSlowRangeQuery("bno", Long.MIN_VALUE, cursorBno - 1);
+            query = new BooleanQuery.Builder()
+                    .add(query, BooleanClause.Occur.MUST)
+                    .add(range, BooleanClause.Occur.FILTER)
+                    .build();
+        }
+
+        IndexSearcher searcher = searcherManager.acquire();
+        try {
+            TopDocs topDocs = searcher.search(query, limit, new Sort(new SortField("bno", SortField.Type.LONG, !backward)));
+            return bnos(searcher, topDocs, 0);
+        } finally {
+            searcherManager.release(searcher);
+        }
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        searcherManager.close();
+        writer.close();
+        directory.close();
+    }
+
+    // 검색 결과(offset 이후)의 bno를 순서대로 꺼낸다
+    private List<Long> bnos(IndexSearcher searcher, TopDocs topDocs, int offset) throws IOException {
+        StoredFields storedFields = searcher.storedFields();
+        List<Long> bnos = new ArrayList<>();
+
+        ScoreDoc[] scoreDocs = topDocs.scoreDocs;
+        for (int i = offset; i < scoreDocs.length; i++) {
+            bnos.add(storedFields.document(scoreDocs[i].doc).getField("bno").numericValue().longValue());
+        }
+
+        return bnos;
+    }
+
+    private Query buildQuery(String[] types, String keyword) {
+        QueryBuilder queryBuilder = new QueryBuilder(analyzer);
+        BooleanQuery.Builder builder = new BooleanQuery.Builder();
+
+        for (String type : types) {
+            String field = FIELDS.get(type);
+            if (field == null) {
+                continue;
+            }
+            // 한 필드 안에서는 모든 단어가 있어야 하고(MUST), 필드끼리는 OR(SHOULD)
+            Query fieldQuery = queryBuilder.createBooleanQuery(field, keyword, BooleanClause.Occur.MUST);
+            if (fieldQuery != null) {
+                builder.add(fieldQuery, BooleanClause.Occur.SHOULD);
+            }
+        }
+
+        BooleanQuery query = builder.build();
+        return query.clauses().isEmpty() ? null : query;
+    }
+
+    private Document toDocument(Board board) {
+        Document doc = new Document();
+        doc.add(new StringField("id", String.valueOf(board.getBno()), Field.Store.NO)); // -- 수정/삭제용 키
+        doc.add(new StoredField("bno", board.getBno())); // -- 검색 결과로 돌려줄 값
+        doc.add(new NumericDocValuesField("bno", board.getBno())); // -- bno 정렬용
+        doc.add(new TextField("title", board.getTitle(), Field.Store.NO));
+        doc.add(new TextField("content", board.getContent(), Field.Store.NO));
+        doc.add(new TextField("writer", board.getWriter(), Field.Store.NO));
+        return doc;
+    }
+
+    private Term idTerm(Long bno) {
+        return new Term("id", String.valueOf(bno));
+    }
+
+    // 변경 사항을 디스크에 반영하고 검색기(searcher)를 갱신
+    private void commit() throws IOException {
+        writer.commit();
+        searcherManager.maybeRefresh();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Hits {
+        private final List<Long> bnos; // -- 요청한 페이지에 해당하는 bno (검색 순서대로)
+        private final long total; // -- 전체 일치 건수
+    }
+}
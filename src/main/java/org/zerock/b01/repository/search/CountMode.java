@@ -0,0 +1,8 @@
+package org.zerock.b01.repository.search;
+
+// 목록 조회 시 전체 개수(total)를 구하는 방식
+public enum CountMode {
+    EXACT, // -- count 쿼리로 정확한 개수를 구함 (단, 첫/마지막 페이지처럼 조회 결과만으로 알 수 있으면 count 쿼리 생략)
+    CACHED, // -- EXACT와 같지만 (types, keyword)별 전체 개수를 짧은 시간 동안 캐시
+    LOOKAHEAD // -- count 쿼리 없이 size + 1개를 조회해서 다음 페이지 존재 여부만 판단
+}
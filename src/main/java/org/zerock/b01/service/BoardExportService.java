@@ -0,0 +1,12 @@
+package org.zerock.b01.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+public interface BoardExportService {
+    // 게시글 한 건(댓글 포함)을 한 줄의 JSON으로 출력 (NDJSON)
+    void exportNdjson(OutputStream out) throws IOException;
+
+    // 댓글 한 건을 한 행으로 출력 (댓글이 없는 게시글은 댓글 컬럼이 빈 행 하나)
+    void exportCsv(OutputStream out) throws IOException;
+}
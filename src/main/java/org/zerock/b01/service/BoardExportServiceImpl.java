@@ -0,0 +1,109 @@
+package org.zerock.b01.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SequenceWriter;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.stereotype.Service;
+import org.zerock.b01.dto.BoardExportDTO;
+import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.repository.BoardExportRepository;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+// 게시글 전체 내보내기 -- 조회 결과를 모으지 않고 읽는 즉시 출력 스트림에 기록
+@Service
+@Log4j2
+@RequiredArgsConstructor
+public class BoardExportServiceImpl implements BoardExportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private static final CsvSchema CSV_SCHEMA = CsvSchema.builder()
+            .addColumn("bno")
+            .addColumn("title")
+            .addColumn("content")
+            .addColumn("writer")
+            .addColumn("replyCount")
+            .addColumn("regDate")
+            .addColumn("modDate")
+            .addColumn("rno")
+            .addColumn("replyText")
+            .addColumn("replyer")
+            .addColumn("replyRegDate")
+            .build()
+            .withHeader();
+
+    private final BoardExportRepository boardExportRepository;
+    private final ObjectMapper objectMapper; // -- Spring이 구성한 ObjectMapper (LocalDateTime 직렬화 포함)
+
+    @Override
+    public void exportNdjson(OutputStream out) throws IOException {
+        // 응답 스트림은 컨테이너가 닫으므로 writer를 닫을 때 함께 닫지 않도록 설정 (AUTO_CLOSE_TARGET 해제)
+        try (SequenceWriter writer = objectMapper.writer()
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .withRootValueSeparator("\n")
+                .writeValues(out)) {
+            boardExportRepository.streamBoardsWithReplies(boardExportDTO -> write(writer, boardExportDTO));
+            writer.flush();
+            out.write('\n');
+        }
+    }
+
+    @Override
+    public void exportCsv(OutputStream out) throws IOException {
+        try (SequenceWriter writer = CSV_MAPPER.writer(CSV_SCHEMA)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .writeValues(out)) {
+            boardExportRepository.streamBoardsWithReplies(boardExportDTO -> {
+                if (boardExportDTO.getReplies().isEmpty()) {
+                    write(writer, toRow(boardExportDTO, null));
+                    return;
+                }
+                for (ReplyDTO replyDTO : boardExportDTO.getReplies()) {
+                    write(writer, toRow(boardExportDTO, replyDTO));
+                }
+            });
+        }
+    }
+
+    private Object[] toRow(BoardExportDTO board, ReplyDTO reply) {
+        Object[] row = new Object[11];
+        row[0] = board.getBno();
+        row[1] = board.getTitle();
+        row[2] = board.getContent();
+        row[3] = board.getWriter();
+        row[4] = board.getReplyCount();
+        row[5] = format(board.getRegDate());
+        row[6] = format(board.getModDate());
+        if (reply != null) {
+            row[7] = reply.getRno();
+            row[8] = reply.getReplyText();
+            row[9] = reply.getReplyer();
+            row[10] = format(reply.getRegDate());
+        } else {
+            Arrays.fill(row, 7, row.length, "");
+        }
+        return row;
+    }
+
+    private String format(LocalDateTime dateTime) {
+        return dateTime == null ? "" : dateTime.toString();
+    }
+
+    // JDBC 콜백 안에서 호출되므로 IOException은 unchecked로 감싸서 조회를 중단시킨다
+    private void write(SequenceWriter writer, Object value) {
+        try {
+            writer.write(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package org.zerock.b01.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.nio.file.Path;
+
+/*
+    명령행에서 게시글 가져오기 실행
+    예) java -jar b01.jar --b01.import.file=./legacy.ndjson --spring.main.web-application-type=none
+    - 웹 서버 없이 실행하면 가져오기가 끝난 뒤 애플리케이션이 종료된다
+    - 중간에 실패하면 같은 명령으로 다시 실행 -- 체크포인트 이후부터 이어서 진행
+ */
+@Component
+@ConditionalOnProperty(name = "b01.import.file")
+@Log4j2
+@RequiredArgsConstructor
+public class BoardImportRunner implements ApplicationRunner {
+
+    private final BoardImportService boardImportService;
+
+    @Value("${b01.import.file}")
+    private String file;
+
+    @Override
+    public void run(ApplicationArguments args) throws Exception {
+        log.info("board import start : {}", file);
+        boardImportService.importFile(Path.of(file));
+    }
+}
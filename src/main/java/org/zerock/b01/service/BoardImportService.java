@@ -0,0 +1,10 @@
+package org.zerock.b01.service;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+public interface BoardImportService {
+    // NDJSON(.ndjson, .jsonl) 또는 CSV(.csv) 파일의 게시글/댓글을 가져오기 -- 이번 실행에서 등록한 게시글 수 반환
+    // 중단 후 다시 실행하면 체크포인트부터 이어서 진행 (마지막 chunk가 다시 등록될 수 있는 at-least-once)
+    long importFile(Path file) throws IOException;
+}
@@ -0,0 +1,253 @@
+package org.zerock.b01.service;
+
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvMapper;
+import com.fasterxml.jackson.dataformat.csv.CsvSchema;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zerock.b01.dto.BoardExportDTO;
+import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.event.BoardsImportedEvent;
+import org.zerock.b01.repository.BoardJdbcRepository;
+import org.zerock.b01.repository.ReplyJdbcRepository;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+/*
+    게시글/댓글 일괄 가져오기 (데이터 이전)
+    - 입력 형식은 /export 결과와 같다 : NDJSON(게시글 한 줄 + replies) 또는 CSV(댓글 한 행, 같은 bno 행이 연속)
+    - chunkSize개 게시글마다 하나의 트랜잭션으로 JDBC batch insert 후 커밋
+    - 커밋할 때마다 "<파일>.checkpoint"에 처리한 원본 게시글 수를 기록하고, 다시 실행하면 그만큼 건너뛰고 이어서 진행
+      체크포인트는 임시 파일에 쓴 뒤 이름을 바꿔(atomic move) 교체하므로 기록 중에 종료되어도 이전 값이 남는다
+    - 체크포인트는 chunk 커밋 뒤에 기록하므로 그 사이에 종료되면 마지막 chunk를 다시 가져온다 (최소 한 번, at-least-once)
+      -- 이어서 실행한 뒤에는 중복 게시글이 생길 수 있다
+    - 원본의 bno/rno는 사용하지 않고 새로 발급 (댓글은 새 게시글 번호로 연결)
+ */
+@Service
+@Log4j2
+public class BoardImportServiceImpl implements BoardImportService {
+
+    private static final CsvMapper CSV_MAPPER = new CsvMapper();
+
+    private final BoardJdbcRepository boardJdbcRepository;
+    private final ReplyJdbcRepository replyJdbcRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final ObjectMapper objectMapper;
+    private final int chunkSize;
+
+    public BoardImportServiceImpl(BoardJdbcRepository boardJdbcRepository,
+                                  ReplyJdbcRepository replyJdbcRepository,
+                                  PlatformTransactionManager transactionManager,
+                                  ApplicationEventPublisher eventPublisher,
+                                  ObjectMapper objectMapper,
+                                  @Value("${b01.import.chunk-size:500}") int chunkSize) {
+        this.boardJdbcRepository = boardJdbcRepository;
+        this.replyJdbcRepository = replyJdbcRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.objectMapper = objectMapper;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public long importFile(Path file) throws IOException {
+        Path checkpointFile = file.resolveSibling(file.getFileName() + ".checkpoint");
+        long committed = readCheckpoint(checkpointFile); // -- 이전 실행에서 커밋된 원본 게시글 수
+
+        long start = System.nanoTime();
+        long skipped = 0; // -- 필수 값이 없어 건너뛴 게시글
+        long boards = 0;
+        long replies = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            Iterator<BoardExportDTO> records = open(file, reader);
+
+            // 체크포인트까지는 읽기만 하고 건너뜀
+            for (long i = 0; i < committed && records.hasNext(); i++) {
+                records.next();
+            }
+            if (committed > 0) {
+                log.info("resume import from checkpoint : {} records", committed);
+            }
+
+            while (records.hasNext()) {
+                List<BoardExportDTO> chunk = new ArrayList<>(chunkSize);
+                int read = 0;
+                while (read < chunkSize && records.hasNext()) {
+                    BoardExportDTO record = records.next();
+                    read++;
+                    if (isValid(record)) {
+                        chunk.add(record);
+                    } else {
+                        skipped++;
+                    }
+                }
+
+                replies += insertChunk(chunk);
+                boards += chunk.size();
+                committed += read;
+                writeCheckpoint(checkpointFile, committed); // -- 커밋이 끝난 뒤에 기록
+
+                double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+                log.info("imported {} boards, {} replies ({} boards/sec, {} replies/sec)",
+                        boards, replies, Math.round(boards / seconds), Math.round(replies / seconds));
+            }
+        }
+
+        double seconds = (System.nanoTime() - start) / 1_000_000_000.0;
+        log.info("import finished : {} boards, {} replies, {} skipped, {} sec", boards, replies, skipped, String.format("%.1f", seconds));
+
+        return boards;
+    }
+
+    // 게시글 chunk 하나를 하나의 트랜잭션으로 저장 -- 저장한 댓글 수 반환
+    private long insertChunk(List<BoardExportDTO> chunk) {
+        if (chunk.isEmpty()) {
+            return 0;
+        }
+
+        return transactionTemplate.execute(status -> {
+            LocalDateTime now = LocalDateTime.now();
+
+            List<Long> bnos = boardJdbcRepository.insertBatch(chunk, now);
+
+            // 댓글을 새로 발급된 게시글 번호로 연결
+            List<ReplyDTO> replies = new ArrayList<>();
+            for (int i = 0; i < chunk.size(); i++) {
+                for (ReplyDTO reply : chunk.get(i).getReplies()) {
+                    reply.setRno(null);
+                    reply.setBno(bnos.get(i));
+                    replies.add(reply);
+                }
+            }
+            if (!replies.isEmpty()) {
+                replyJdbcRepository.insertBatchWithDates(replies, now); // -- 원본의 댓글 등록 일자 유지
+            }
+
+            eventPublisher.publishEvent(new BoardsImportedEvent(bnos)); // -- 커밋 이후 캐시/검색 인덱스 반영
+            return (long) replies.size();
+        });
+    }
+
+    // Board 컬럼 제약(not null, 길이)을 만족하지 않는 게시글은 건너뛰고, 내용이 없는 댓글은 제외
+    private boolean isValid(BoardExportDTO record) {
+        if (isBlank(record.getTitle()) || isBlank(record.getContent()) || isBlank(record.getWriter())
+                || record.getTitle().length() > 500 || record.getContent().length() > 2000 || record.getWriter().length() > 50) {
+            log.warn("skip invalid board : bno={}", record.getBno());
+            return false;
+        }
+        if (record.getReplies() == null) {
+            record.setReplies(new ArrayList<>());
+        }
+        record.getReplies().removeIf(reply -> isBlank(reply.getReplyText()) || isBlank(reply.getReplyer()));
+        return true;
+    }
+
+    private Iterator<BoardExportDTO> open(Path file, BufferedReader reader) throws IOException {
+        String name = file.getFileName().toString().toLowerCase();
+
+        if (name.endsWith(".csv")) {
+            MappingIterator<Map<String, String>> rows = CSV_MAPPER.readerFor(Map.class)
+                    .with(CsvSchema.emptySchema().withHeader())
+                    .readValues(reader);
+            return new CsvBoardIterator(rows);
+        }
+        return objectMapper.readerFor(BoardExportDTO.class).readValues(reader);
+    }
+
+    private long readCheckpoint(Path checkpointFile) throws IOException {
+        if (!Files.exists(checkpointFile)) {
+            return 0;
+        }
+        return Long.parseLong(Files.readString(checkpointFile).strip());
+    }
+
+    // 임시 파일에 쓰고 교체 -- 덮어쓰는 도중에 종료되어 비어 있거나 잘린 체크포인트가 남지 않도록
+    private void writeCheckpoint(Path checkpointFile, long committed) throws IOException {
+        Path tempFile = checkpointFile.resolveSibling(checkpointFile.getFileName() + ".tmp");
+        Files.writeString(tempFile, Long.toString(committed));
+        Files.move(tempFile, checkpointFile, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    // CSV는 댓글 한 건이 한 행이므로 bno가 같은 연속된 행을 게시글 하나로 묶어서 반환
+    private static class CsvBoardIterator implements Iterator<BoardExportDTO> {
+
+        private final MappingIterator<Map<String, String>> rows;
+        private Map<String, String> pending; // -- 다음 게시글의 첫 행
+
+        CsvBoardIterator(MappingIterator<Map<String, String>> rows) {
+            this.rows = rows;
+            this.pending = rows.hasNext() ? rows.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return pending != null;
+        }
+
+        @Override
+        public BoardExportDTO next() {
+            if (pending == null) {
+                throw new NoSuchElementException();
+            }
+
+            Map<String, String> first = pending;
+            BoardExportDTO board = BoardExportDTO.builder()
+                    .bno(parseLong(first.get("bno")))
+                    .title(first.get("title"))
+                    .content(first.get("content"))
+                    .writer(first.get("writer"))
+                    .regDate(parseDateTime(first.get("regDate")))
+                    .modDate(parseDateTime(first.get("modDate")))
+                    .build();
+
+            Map<String, String> row = first;
+            while (row != null && sameBoard(first, row)) {
+                if (!isBlank(row.get("rno"))) {
+                    board.getReplies().add(ReplyDTO.builder()
+                            .replyText(row.get("replyText"))
+                            .replyer(row.get("replyer"))
+                            .regDate(parseDateTime(row.get("replyRegDate")))
+                            .build());
+                }
+                row = rows.hasNext() ? rows.next() : null;
+            }
+            pending = row;
+
+            return board;
+        }
+
+        private boolean sameBoard(Map<String, String> first, Map<String, String> row) {
+            return first.get("bno") != null && first.get("bno").equals(row.get("bno"));
+        }
+
+        private Long parseLong(String value) {
+            return isBlank(value) ? null : Long.valueOf(value.strip());
+        }
+
+        private LocalDateTime parseDateTime(String value) {
+            return isBlank(value) ? null : LocalDateTime.parse(value.strip());
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package org.zerock.b01.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.PageRequestDTO;
+import org.zerock.b01.dto.PageResponseDTO;
+import org.zerock.b01.event.BoardChangedEvent;
+import org.zerock.b01.event.BoardsImportedEvent;
+import org.zerock.b01.event.ReplyChangedEvent;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/*
+    게시글 목록(앞쪽 N 페이지) 결과 캐시
+    - 대부분의 요청은 검색어 없는 /board/list 의 1~3 페이지이므로, 같은 요청에 대해 목록 조회를 반복하지 않도록 결과를 보관
+    - 키 : 정규화한 (page, size, types, keyword, order) -- 순서만 다른 검색 종류(tc/ct)나 빈 검색어는 같은 키
+    - 게시글/댓글이 변경되면(댓글 수도 목록에 표시되므로) 커밋 이후 전부 비운다
+    - keywordless-only가 true면 검색어가 없는 요청만 캐시, 커서(keyset) 방식 요청은 캐시하지 않음
+ */
+@Component
+@Log4j2
+public class BoardListCache {
+
+    private final Cache<String, PageResponseDTO<BoardListReplyCountDTO>> cache;
+
+    private final boolean enabled;
+    private final int maxPage; // -- 이 페이지 번호까지만 캐시
+    private final boolean keywordlessOnly;
+
+    public BoardListCache(@Value("${b01.board.list-cache.enabled:true}") boolean enabled,
+                          @Value("${b01.board.list-cache.max-page:3}") int maxPage,
+                          @Value("${b01.board.list-cache.keywordless-only:true}") boolean keywordlessOnly,
+                          @Value("${b01.board.list-cache.maximum-size:200}") long maximumSize,
+                          @Value("${b01.board.list-cache.ttl:10s}") Duration ttl) {
+        this.enabled = enabled;
+        this.maxPage = maxPage;
+        this.keywordlessOnly = keywordlessOnly;
+        this.cache = Caffeine.newBuilder()
+                .expireAfterWrite(ttl)
+                .maximumSize(maximumSize)
+                .build();
+    }
+
+    // 캐시 대상이면 캐시에서 꺼내고(없으면 loader 실행 후 저장), 대상이 아니면 loader 결과를 그대로 반환
+    public PageResponseDTO<BoardListReplyCountDTO> get(PageRequestDTO pageRequestDTO,
+                                                       Supplier<PageResponseDTO<BoardListReplyCountDTO>> loader) {
+        String key = cacheKey(pageRequestDTO);
+
+        if (key == null) {
+            return loader.get();
+        }
+
+        return cache.get(key, k -> loader.get());
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardChanged(BoardChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReplyChanged(ReplyChangedEvent event) {
+        cache.invalidateAll();
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBoardsImported(BoardsImportedEvent event) {
+        cache.invalidateAll();
+    }
+
+    private String cacheKey(PageRequestDTO pageRequestDTO) {
+        if (!enabled || pageRequestDTO.isCursorMode() || pageRequestDTO.getPage() > maxPage) {
+            return null;
+        }
+
+        String[] types = pageRequestDTO.getTypes();
+        String keyword = pageRequestDTO.getKeyword();
+        boolean hasKeyword = types != null && keyword != null && !keyword.isEmpty();
+
+        if (keywordlessOnly && hasKeyword) {
+            return null;
+        }
+
+        StringBuilder key = new StringBuilder()
+                .append(pageRequestDTO.getPage()).append('|')
+                .append(pageRequestDTO.getSize()).append('|');
+
+        if (hasKeyword) {
+            String[] sorted = types.clone();
+            Arrays.sort(sorted);
+            key.append(String.join("", sorted)).append('|').append(keyword).append('|');
+        }
+
+        key.append(pageRequestDTO.isRelevanceOrder() ? "relevance" : "bno");
+
+        return key.toString();
+    }
+}
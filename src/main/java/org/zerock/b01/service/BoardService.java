@@ -2,12 +2,16 @@ package org.zerock.b01.service;
 
 import org.zerock.b01.dto.BoardDTO;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.BoardVersionDTO;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
 
+import java.util.Optional;
+
 public interface BoardService {
     Long register(BoardDTO boardDTO); // -- 등록
     BoardDTO readOne(Long bno); // -- 특정 게시물 조회
+    Optional<BoardVersionDTO> readVersion(Long bno); // -- 게시물 수정 일자/댓글 버전 조회 (조건부 요청 ETag)
     void modify(BoardDTO boardDTO); // -- 수정 (기존 엔티티 객체에서 필요한 부분만 변경)
     void remove(Long bno); // -- 삭제
     PageResponseDTO<BoardDTO> list(PageRequestDTO pageRequestDTO);
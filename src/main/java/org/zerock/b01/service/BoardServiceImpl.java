@@ -1,18 +1,23 @@
 package org.zerock.b01.service;
 
-import jakarta.transaction.Transactional;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.ModelMapper;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.dto.BoardDTO;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.dto.BoardVersionDTO;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
+import org.zerock.b01.event.BoardChangedEvent;
+import org.zerock.b01.mapper.BoardMapper;
 import org.zerock.b01.repository.BoardRepository;
+import org.zerock.b01.repository.search.BoardSearch;
 
 import java.util.List;
 import java.util.Optional;
@@ -22,21 +27,30 @@ import java.util.stream.Collectors;
     @Transactional
         트랜잭션 경계를 지정하여 메서드 실행 시 트랜잭션을 시작 및 메서드 종료 시 트랜잭션을 커밋 or 롤백
         -- 이를 통해 데이터베이스 작업의 원자성을 보장, 일관된 상태를 유지
+
+    @Transactional(readOnly = true)
+        클래스 기본값은 읽기 전용 -- 쓰기 메서드(register, modify, remove)에만 @Transactional을 따로 지정
+        -- Hibernate FlushMode.MANUAL(flush 생략), 조회한 엔티티의 스냅샷(dirty checking용)을 만들지 않음, JDBC 커넥션 read-only
  */
 
 @Service
+@Timed(value = "b01.service", description = "Service method execution time") // -- 메서드별 실행 시간 (class, method 태그)
 @Log4j2
 @RequiredArgsConstructor
-@Transactional // -- 해당 객체를 감싸는 별도의 클래스를 생성
+@Transactional(readOnly = true) // -- 해당 객체를 감싸는 별도의 클래스를 생성, 기본은 읽기 전용
 public class BoardServiceImpl implements BoardService{
 
-    private final ModelMapper modelMapper;
+    private final BoardMapper boardMapper; // -- 엔티티 <-> DTO 변환 (MapStruct 생성 코드)
     private final BoardRepository boardRepository;
+    private final ApplicationEventPublisher eventPublisher; // -- 게시글 변경 이벤트 발행 (캐시 무효화 등)
+    private final BoardListCache boardListCache; // -- 앞쪽 페이지 목록 결과 캐시
 
     @Override
+    @Transactional
     public Long register(BoardDTO boardDTO) {
-        Board board = modelMapper.map(boardDTO, Board.class);
+        Board board = boardMapper.toEntity(boardDTO);
         Long bno = boardRepository.save(board).getBno();
+        eventPublisher.publishEvent(new BoardChangedEvent(bno, BoardChangedEvent.Type.REGISTERED));
         return bno;
     }
 
@@ -45,20 +59,32 @@ public class BoardServiceImpl implements BoardService{
         // findByID() -- 반환 타입 Optional 타입이라는 것
         Optional<Board> result = boardRepository.findById(bno);
         Board board = result.orElseThrow(); // -- Optional이 비어있는 경우 예외 던짐
-        return modelMapper.map(board, BoardDTO.class); // -- 엔티티를 DTO로 변환
+        return boardMapper.toDTO(board); // -- 엔티티를 DTO로 변환
+    }
+
+    // 읽기 전용 트랜잭션이므로 replica 설정 시 replica에서 조회 -- 본문(readOne, 댓글 목록)과 같은 곳에서 읽어서 ETag와 본문이 항상 짝이 맞는다
+    // 복제 지연 동안은 변경 전 ETag로 304가 나갈 수 있지만(허용), 응답은 매번 재검증(no-cache)하므로 replica가 따라잡으면 바로 새 내용을 받는다
+    // (버전만 primary에서 읽으면 새 ETag에 오래된 본문이 묶여 다음 변경 때까지 캐시되므로 그렇게 하지 않는다)
+    @Override
+    public Optional<BoardVersionDTO> readVersion(Long bno) {
+        return boardRepository.findVersion(bno);
     }
 
     @Override
+    @Transactional
     public void modify(BoardDTO boardDTO) {
         Optional<Board> result = boardRepository.findById(boardDTO.getBno());
         Board board = result.orElseThrow();
         board.change(boardDTO.getTitle(), boardDTO.getContent());
         boardRepository.save(board);
+        eventPublisher.publishEvent(new BoardChangedEvent(boardDTO.getBno(), BoardChangedEvent.Type.MODIFIED));
     }
 
     @Override
+    @Transactional
     public void remove(Long bno) {
         boardRepository.deleteById(bno);
+        eventPublisher.publishEvent(new BoardChangedEvent(bno, BoardChangedEvent.Type.REMOVED));
     }
 
     @Override
@@ -70,7 +96,7 @@ public class BoardServiceImpl implements BoardService{
         Page<Board> result = boardRepository.searchAll(types, keyword, pageable);
 
         List<BoardDTO> dtoList = result.getContent().stream()
-                .map(board -> modelMapper.map(board, BoardDTO.class))
+                .map(boardMapper::toDTO)
                 .collect(Collectors.toList());
 
         return PageResponseDTO.<BoardDTO>withAll()
@@ -82,21 +108,77 @@ public class BoardServiceImpl implements BoardService{
 
     @Override
     public PageResponseDTO<BoardListReplyCountDTO> listWithReplyCount(PageRequestDTO pageRequestDTO) {
+        // 자주 요청되는 앞쪽 페이지는 캐시된 결과를 사용
+        return boardListCache.get(pageRequestDTO, () -> loadListWithReplyCount(pageRequestDTO));
+    }
+
+    private PageResponseDTO<BoardListReplyCountDTO> loadListWithReplyCount(PageRequestDTO pageRequestDTO) {
+        // 커서가 전달되면 OFFSET 대신 keyset(seek) 방식으로 조회
+        if (pageRequestDTO.isCursorMode()) {
+            return listWithReplyCountByCursor(pageRequestDTO);
+        }
+
         // PageRequestDTO로부터 types(검색 타입), keyword(검색어) 추출
         String[] types = pageRequestDTO.getTypes();
         String keyword = pageRequestDTO.getKeyword();
 
-        // PageRequestDTO로부터 Pageable 객체 생성 (정렬 기준 : bno)
-        Pageable pageable = pageRequestDTO.getPageable("bno");
+        // PageRequestDTO로부터 Pageable 객체 생성 (정렬 기준 : bno, 정확도순 요청이면 전문 검색 score)
+        boolean relevance = pageRequestDTO.isRelevanceOrder();
+        Pageable pageable = relevance ? pageRequestDTO.getPageable(BoardSearch.RELEVANCE) : pageRequestDTO.getPageable("bno");
 
         // boardRepository의 searchWithReplyCount 메서드 호출하여 검색 결과 가져옴
         Page<BoardListReplyCountDTO> result = boardRepository.searchWithReplyCount(types, keyword, pageable);
 
+        List<BoardListReplyCountDTO> dtoList = result.getContent();
+
+        // 깊은 페이지로 이동할 때 OFFSET 비용이 들지 않도록 현재 페이지 기준의 커서도 함께 제공
+        String prevCursor = null;
+        String nextCursor = null;
+        if (!dtoList.isEmpty() && !relevance) { // -- 정확도순은 bno 순서가 아니므로 커서를 만들 수 없다
+            prevCursor = result.hasPrevious() ? PageRequestDTO.encodeCursor(dtoList.get(0).getBno(), true) : null;
+            nextCursor = result.hasNext() ? PageRequestDTO.encodeCursor(dtoList.get(dtoList.size() - 1).getBno(), false) : null;
+        }
+
         // PageResponseDTO 객체 생성하여 반환
         return PageResponseDTO.<BoardListReplyCountDTO>withAll()
                 .pageRequestDTO(pageRequestDTO) // -- 페이지 요청 정보
-                .dtoList(result.getContent()) // -- 검색 결과 목록
+                .dtoList(dtoList) // -- 검색 결과 목록
                 .total((int)result.getTotalElements()) // -- 전체 검색 결과 수
+                .prevCursor(prevCursor)
+                .nextCursor(nextCursor)
+                .build();
+    }
+
+    // keyset(seek) 페이징 -- size + 1개를 조회해서 다음(또는 이전) 페이지 존재 여부를 판단하고, 전체 개수는 구하지 않는다
+    private PageResponseDTO<BoardListReplyCountDTO> listWithReplyCountByCursor(PageRequestDTO pageRequestDTO) {
+        int size = pageRequestDTO.getSize();
+        Long cursorBno = pageRequestDTO.getCursorBno();
+        boolean backward = cursorBno != null && pageRequestDTO.isCursorBackward();
+
+        List<BoardListReplyCountDTO> dtoList = boardRepository.searchWithReplyCountByCursor(
+                pageRequestDTO.getTypes(), pageRequestDTO.getKeyword(), cursorBno, backward, size + 1);
+
+        // 한 건 더 조회된 경우 진행 방향의 끝에 다른 글이 더 있다는 의미 -- 초과분은 잘라낸다
+        boolean hasMore = dtoList.size() > size;
+        if (hasMore) {
+            dtoList = backward ? dtoList.subList(1, dtoList.size()) : dtoList.subList(0, size);
+        }
+
+        boolean hasPrev = backward ? hasMore : cursorBno != null;
+        boolean hasNext = backward || hasMore;
+
+        String prevCursor = null;
+        String nextCursor = null;
+        if (!dtoList.isEmpty()) {
+            prevCursor = hasPrev ? PageRequestDTO.encodeCursor(dtoList.get(0).getBno(), true) : null;
+            nextCursor = hasNext ? PageRequestDTO.encodeCursor(dtoList.get(dtoList.size() - 1).getBno(), false) : null;
+        }
+
+        return PageResponseDTO.<BoardListReplyCountDTO>withCursor()
+                .pageRequestDTO(pageRequestDTO)
+                .dtoList(dtoList)
+                .prevCursor(prevCursor)
+                .nextCursor(nextCursor)
                 .build();
     }
 
@@ -0,0 +1,90 @@
+package org.zerock.b01.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.zerock.b01.domain.Board;
+import org.zerock.b01.event.BoardChangedEvent;
+import org.zerock.b01.event.BoardsImportedEvent;
+import org.zerock.b01.repository.BoardRepository;
+import org.zerock.b01.repository.search.BoardTextIndex;
+
+import java.io.IOException;
+
+/*
+    게시글 전문 검색 인덱스 동기화
+    - 게시글 등록/수정/삭제(BoardChangedEvent), 일괄 가져오기(BoardsImportedEvent)가 커밋되면 인덱스에 반영
+    - 애플리케이션 시작 시 인덱스가 비어 있으면 전체 게시글로 다시 만든다
+    - 인덱스 반영에 실패해도 게시글 처리에는 영향을 주지 않는다 (검색은 QueryDSL로 대체 가능)
+ */
+@Component
+@ConditionalOnProperty(name = "b01.search.fulltext.enabled", havingValue = "true")
+@Log4j2
+@RequiredArgsConstructor
+public class BoardTextIndexSynchronizer {
+
+    private static final int REBUILD_BATCH_SIZE = 500;
+
+    private final BoardTextIndex boardTextIndex;
+    private final BoardRepository boardRepository;
+
+    // 방금 커밋된 게시글을 읽어야 하므로 (복제 지연이 있는 replica가 아닌) primary에서 조회 -- 쓰기 가능 트랜잭션
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBoardChanged(BoardChangedEvent event) {
+        try {
+            if (event.getType() == BoardChangedEvent.Type.REMOVED) {
+                boardTextIndex.delete(event.getBno());
+            } else {
+                Board board = boardRepository.findById(event.getBno()).orElse(null);
+                if (board != null) {
+                    boardTextIndex.index(board);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("board text index update failed : {}", event, e);
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onBoardsImported(BoardsImportedEvent event) {
+        try {
+            boardTextIndex.indexAll(boardRepository.findAllById(event.getBnos()));
+        } catch (IOException e) {
+            log.warn("board text index update failed : {} boards", event.getBnos().size(), e);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildIfEmpty() throws IOException {
+        if (!boardTextIndex.isEmpty()) {
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long count = 0;
+
+        Page<Board> page = boardRepository.findAll(PageRequest.of(0, REBUILD_BATCH_SIZE, Sort.by("bno")));
+        while (page.hasContent()) {
+            boardTextIndex.indexAll(page.getContent());
+            count += page.getNumberOfElements();
+
+            if (!page.hasNext()) {
+                break;
+            }
+            page = boardRepository.findAll(page.nextPageable());
+        }
+
+        log.info("board text index rebuilt : {} boards, {} ms", count, System.currentTimeMillis() - start);
+    }
+}
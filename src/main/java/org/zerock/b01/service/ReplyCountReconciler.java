@@ -0,0 +1,44 @@
+package org.zerock.b01.service;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.zerock.b01.repository.BoardRepository;
+
+/*
+    Board.replyCount(비정규화된 댓글 수) 정합성 복구 작업
+    - 평소에는 댓글 등록/삭제 시 SQL 증감으로 유지되지만, 직접 DB를 수정하거나 장애가 있었던 경우 값이 어긋날 수 있다.
+    - bno 구간(batch-size) 단위로 나누어 실제 댓글 수를 다시 집계하고, 구간마다 별도 트랜잭션으로 커밋한다.
+      (한 번에 전체 테이블을 갱신하면 긴 트랜잭션과 대량의 잠금이 발생하므로)
+    - b01.reply-count.reconcile.cron 으로 주기를 지정 (기본값 "-" : 스케줄 비활성화, 필요 시 reconcile() 직접 호출)
+ */
+@Component
+@Log4j2
+@RequiredArgsConstructor
+public class ReplyCountReconciler {
+
+    private final BoardRepository boardRepository;
+
+    @Value("${b01.reply-count.reconcile.batch-size:1000}")
+    private int batchSize;
+
+    @Scheduled(cron = "${b01.reply-count.reconcile.cron:-}")
+    public void reconcile() {
+        Long maxBno = boardRepository.getMaxBno();
+
+        if (maxBno == null) { // -- 게시글이 없는 경우
+            return;
+        }
+
+        long start = System.currentTimeMillis();
+        long updated = 0;
+
+        for (long fromBno = 1; fromBno <= maxBno; fromBno += batchSize) {
+            updated += boardRepository.reconcileReplyCount(fromBno, fromBno + batchSize - 1);
+        }
+
+        log.info("reply count reconciled : {} boards, {} ms", updated, System.currentTimeMillis() - start);
+    }
+}
@@ -0,0 +1,234 @@
+package org.zerock.b01.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.event.ReplyChangedEvent;
+import org.zerock.b01.mapper.ReplyMapper;
+import org.zerock.b01.repository.ReplyRepository;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/*
+    댓글 변경 Server-Sent Events 허브 (GET /replies/stream/{bno})
+    - 댓글 등록/수정/삭제가 커밋되면(ReplyChangedEvent) 해당 게시글 구독자에게 전송 -- 화면이 댓글 목록을 다시 조회하지 않아도 된다
+    - 구독자가 없는 게시글의 이벤트는 트랜잭션/커넥션 없이 바로 끝낸다
+    - 이벤트는 한 번만 만든다 : 댓글 조회 1번(일괄 등록은 rno in 조회 1번) + 댓글마다 SSE 이벤트(JSON) 1번 생성 후 모든 구독자가 같은 객체를 공유
+    - 구독자마다 크기가 제한된 큐와 전송 전용 가상 스레드 -- 느린 클라이언트 때문에 커밋 스레드나 다른 구독자가 기다리지 않는다
+    - 큐가 가득 찬(따라가지 못하는) 구독자는 연결을 끊는다 -- 브라우저 EventSource가 재연결 후 목록을 다시 읽는다
+    - 주기적으로 heartbeat 주석을 보내서 끊어진 연결을 정리
+    - 메트릭 : b01.reply.sse.subscribers, b01.reply.sse.dropped
+ */
+@Component
+@Log4j2
+public class ReplyEventHub {
+
+    private final Map<Long, Set<Subscriber>> subscribersByBno = new ConcurrentHashMap<>();
+
+    private final AtomicInteger subscriberCount = new AtomicInteger();
+
+    private final ReplyRepository replyRepository;
+    private final ReplyMapper replyMapper;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate; // -- 구독자가 있을 때만 댓글 조회 트랜잭션을 연다
+
+    private final Duration timeout; // -- 연결 유지 시간 (지나면 EventSource가 재연결)
+    private final int queueCapacity; // -- 구독자별 전송 대기 이벤트 수
+
+    private final Counter droppedCounter;
+
+    private final Set<DataWithMediaType> heartbeat = SseEmitter.event().comment("heartbeat").build();
+
+    public ReplyEventHub(ReplyRepository replyRepository,
+                         ReplyMapper replyMapper,
+                         ObjectMapper objectMapper,
+                         PlatformTransactionManager transactionManager,
+                         @Value("${b01.reply.sse.timeout:30m}") Duration timeout,
+                         @Value("${b01.reply.sse.queue-capacity:64}") int queueCapacity,
+                         MeterRegistry meterRegistry) {
+        this.replyRepository = replyRepository;
+        this.replyMapper = replyMapper;
+        this.objectMapper = objectMapper;
+        this.timeout = timeout;
+        this.queueCapacity = queueCapacity;
+
+        // 방금 커밋된 댓글을 읽어야 하므로 (복제 지연이 있는 replica가 아닌) primary에서 조회 -- 읽기 전용이 아닌 새 트랜잭션
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        Gauge.builder("b01.reply.sse.subscribers", subscriberCount, AtomicInteger::get)
+                .description("Open reply event streams")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("b01.reply.sse.dropped")
+                .description("Reply event streams closed because the client could not keep up")
+                .register(meterRegistry);
+    }
+
+    // 게시글(bno)의 댓글 변경 구독 -- 반환한 SseEmitter를 컨트롤러가 그대로 응답
+    public SseEmitter subscribe(Long bno) {
+        SseEmitter emitter = new SseEmitter(timeout.toMillis());
+        Subscriber subscriber = new Subscriber(bno, emitter, new ArrayBlockingQueue<>(queueCapacity));
+
+        emitter.onCompletion(() -> unsubscribe(subscriber));
+        emitter.onTimeout(() -> unsubscribe(subscriber));
+        emitter.onError(e -> unsubscribe(subscriber));
+
+        subscribersByBno.computeIfAbsent(bno, k -> ConcurrentHashMap.newKeySet()).add(subscriber);
+        subscriberCount.incrementAndGet();
+
+        subscriber.offer(SseEmitter.event().comment("subscribed").reconnectTime(3000).build());
+        subscriber.thread = Thread.ofVirtual().name("reply-sse-" + bno).start(subscriber);
+        if (subscriber.closed.get()) { // -- 스레드 시작 전에 연결이 끊긴 경우
+            subscriber.thread.interrupt();
+        }
+
+        return emitter;
+    }
+
+    // 커밋된 댓글 변경을 구독자에게 전송 -- 구독자가 없으면 트랜잭션도 열지 않고 댓글 조회도 하지 않는다
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onReplyChanged(ReplyChangedEvent event) {
+        Set<Subscriber> subscribers = subscribersByBno.get(event.getBno());
+        if (subscribers == null || subscribers.isEmpty()) {
+            return;
+        }
+
+        Map<Long, Object> dataByRno = new LinkedHashMap<>(); // -- 전송할 댓글 번호 -> 이벤트 데이터 (rno 순)
+        if (event.getType() == ReplyChangedEvent.Type.REMOVED) {
+            event.getRnos().forEach(rno -> dataByRno.put(rno, Map.of("rno", rno, "bno", event.getBno())));
+        } else {
+            // 이미 삭제된 댓글은 결과에서 빠진다 (삭제 이벤트가 따로 전송된다)
+            List<ReplyDTO> replyDTOList = transactionTemplate.execute(status -> replyRepository.findAllById(event.getRnos()).stream()
+                    .map(replyMapper::toDTO)
+                    .sorted(Comparator.comparing(ReplyDTO::getRno))
+                    .toList());
+            replyDTOList.forEach(replyDTO -> dataByRno.put(replyDTO.getRno(), replyDTO));
+        }
+
+        dataByRno.forEach((rno, data) -> {
+            // JSON 직렬화도 한 번만 -- 구독자에게는 같은 문자열을 전송
+            String json;
+            try {
+                json = objectMapper.writeValueAsString(data);
+            } catch (JsonProcessingException e) {
+                log.warn("reply event serialization failed : {}", event, e);
+                return;
+            }
+
+            Set<DataWithMediaType> sseEvent = SseEmitter.event()
+                    .id(String.valueOf(rno))
+                    .name(event.getType().name())
+                    .data(json)
+                    .build();
+
+            publish(subscribers, sseEvent);
+        });
+    }
+
+    @Scheduled(fixedDelayString = "${b01.reply.sse.heartbeat-interval:20s}")
+    public void sendHeartbeat() {
+        subscribersByBno.values().forEach(subscribers -> publish(subscribers, heartbeat));
+    }
+
+    public int getSubscriberCount() {
+        return subscriberCount.get();
+    }
+
+    @PreDestroy
+    public void close() {
+        subscribersByBno.values().forEach(subscribers -> subscribers.forEach(Subscriber::close));
+    }
+
+    private void publish(Set<Subscriber> subscribers, Set<DataWithMediaType> sseEvent) {
+        for (Subscriber subscriber : subscribers) {
+            if (!subscriber.offer(sseEvent)) {
+                log.info("reply event stream dropped (slow consumer) : bno={}", subscriber.bno);
+                droppedCounter.increment();
+                subscriber.close();
+            }
+        }
+    }
+
+    private void unsubscribe(Subscriber subscriber) {
+        if (!subscriber.closed.compareAndSet(false, true)) {
+            return;
+        }
+
+        subscriberCount.decrementAndGet();
+        subscribersByBno.computeIfPresent(subscriber.bno, (bno, subscribers) -> {
+            subscribers.remove(subscriber);
+            return subscribers.isEmpty() ? null : subscribers;
+        });
+
+        if (subscriber.thread != null) {
+            subscriber.thread.interrupt();
+        }
+    }
+
+    // 구독자 한 명 -- 큐에 쌓인 이벤트를 전용 가상 스레드가 순서대로 전송 (한 emitter에는 한 스레드만 쓴다)
+    private final class Subscriber implements Runnable {
+
+        private final Long bno;
+        private final SseEmitter emitter;
+        private final BlockingQueue<Set<DataWithMediaType>> queue;
+        private final AtomicBoolean closed = new AtomicBoolean();
+
+        private volatile Thread thread;
+
+        private Subscriber(Long bno, SseEmitter emitter, BlockingQueue<Set<DataWithMediaType>> queue) {
+            this.bno = bno;
+            this.emitter = emitter;
+            this.queue = queue;
+        }
+
+        private boolean offer(Set<DataWithMediaType> sseEvent) {
+            return queue.offer(sseEvent);
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed.get()) {
+                    emitter.send(queue.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException e) {
+                // -- 클라이언트 연결 종료
+                log.debug("reply event stream closed : bno={} ({})", bno, e.toString());
+                unsubscribe(this);
+            }
+        }
+
+        // 연결 종료 -- 응답을 완료하면 onCompletion에서 구독 해제
+        private void close() {
+            unsubscribe(this);
+            emitter.complete();
+        }
+    }
+}
@@ -0,0 +1,353 @@
+package org.zerock.b01.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.log4j.Log4j2;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.zerock.b01.dto.ReplyDTO;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/*
+    쓰기 지연(write-behind) 댓글 등록 (b01.reply.ingest.enabled=true)
+    - 요청마다 insert 트랜잭션을 커밋하지 않고, 크기가 제한된 메모리 큐에 넣은 뒤 전용 스레드가 모아서 한 번에 커밋 (group commit)
+      배치 : 최대 batch-size건, 첫 댓글이 들어온 뒤 최대 max-latency까지 기다렸다가 ReplyService.registerAll()로 저장
+    - 댓글 번호(rno)는 커밋이 끝난 뒤 CompletableFuture로 전달 (컨트롤러는 비동기 응답)
+    - 큐가 가득 차면 ReplyIngestRejectedException (503)
+    - 내구성 : 큐에 넣기 전에 로컬 journal 파일(NDJSON)에 먼저 추가, 배치를 커밋하기 전에 한 번 fsync
+        {"seq":1,"reply":{...}}  -- 등록 요청
+        {"committed":10}         -- seq 10까지 DB 커밋 완료
+      시작 시 커밋 표시가 없는 요청은 다시 등록하고, 큐가 비면 파일을 비운다
+      (DB 커밋 직후 커밋 표시를 쓰기 전에 종료되면 다시 등록되므로 최소 한 번(at-least-once) 저장)
+    - journal fsync 실패 시 중단 (fail fast) : 대기 중인 요청은 모두 실패로 응답하고 이후 요청은 거절(503),
+      journal 파일은 *.failed-시각 으로 옮겨 두므로 다음 시작 때 실패로 응답한 요청이 다시 등록되지 않는다
+    - 메트릭 : b01.reply.ingest.queue.size, b01.reply.ingest.batch.size, b01.reply.ingest.commit
+ */
+@Component
+@ConditionalOnProperty(name = "b01.reply.ingest.enabled", havingValue = "true")
+@Log4j2
+public class ReplyIngestQueue {
+
+    private final ReplyService replyService;
+    private final ObjectMapper objectMapper;
+
+    private final BlockingQueue<Pending> queue;
+    private final int batchSize;
+    private final Duration maxLatency;
+
+    private final Path journalFile;
+    private final Object journalLock = new Object(); // -- journal 추가와 큐 추가 순서를 맞추기 위한 잠금
+    private FileChannel journal;
+    private long lastSeq;
+
+    private volatile boolean running;
+    private volatile boolean failed; // -- journal fsync 실패로 중단됨
+    private Thread writer;
+
+    private final DistributionSummary batchSizeSummary;
+    private final Timer commitTimer;
+
+    public ReplyIngestQueue(ReplyService replyService,
+                            ObjectMapper objectMapper,
+                            @Value("${b01.reply.ingest.queue-capacity:10000}") int queueCapacity,
+                            @Value("${b01.reply.ingest.batch-size:500}") int batchSize,
+                            @Value("${b01.reply.ingest.max-latency:50ms}") Duration maxLatency,
+                            @Value("${b01.reply.ingest.journal:./data/reply-ingest.journal}") Path journalFile,
+                            MeterRegistry meterRegistry) {
+        this.replyService = replyService;
+        this.objectMapper = objectMapper;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.maxLatency = maxLatency;
+        this.journalFile = journalFile;
+
+        Gauge.builder("b01.reply.ingest.queue.size", queue, BlockingQueue::size)
+                .description("Replies waiting for the group commit")
+                .register(meterRegistry);
+        this.batchSizeSummary = DistributionSummary.builder("b01.reply.ingest.batch.size")
+                .description("Replies committed per transaction")
+                .register(meterRegistry);
+        this.commitTimer = Timer.builder("b01.reply.ingest.commit")
+                .description("Group commit time")
+                .register(meterRegistry);
+    }
+
+    // 댓글 등록 요청을 journal과 큐에 추가 -- 커밋되면 rno로 완료되는 future 반환
+    public CompletableFuture<Long> submit(ReplyDTO replyDTO) {
+        replyDTO.setRegDate(null); // -- 등록 일자는 커밋할 때의 서버 시각 (registerAll), 요청에 담긴 값은 사용하지 않음
+
+        Pending pending = new Pending(replyDTO, new CompletableFuture<>());
+
+        synchronized (journalLock) {
+            if (!running) { // -- 종료 중이거나 journal 오류로 중단된 경우
+                throw new ReplyIngestRejectedException("reply ingest queue is not running");
+            }
+            if (queue.remainingCapacity() == 0) {
+                throw new ReplyIngestRejectedException("reply ingest queue is full");
+            }
+
+            pending.seq = ++lastSeq;
+            appendJournal(Map.of("seq", pending.seq, "reply", replyDTO));
+            queue.add(pending);
+        }
+
+        return pending.future;
+    }
+
+    // 시작 -- writer가 이전 실행에서 커밋되지 않은 요청부터 다시 등록한 뒤 큐를 처리
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() throws IOException {
+        Files.createDirectories(journalFile.toAbsolutePath().getParent());
+
+        List<Pending> recovered = recover();
+
+        journal = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+
+        running = true;
+        writer = Thread.ofPlatform().name("reply-ingest-writer").daemon().start(() -> {
+            // 복구한 요청을 먼저 batch-size 단위로 커밋 (큐 크기와 상관없이)
+            for (int from = 0; from < recovered.size() && !failed; from += batchSize) {
+                List<Pending> chunk = recovered.subList(from, Math.min(from + batchSize, recovered.size()));
+                commit(chunk, from + batchSize >= recovered.size());
+            }
+            drainLoop();
+        });
+
+        log.info("reply ingest started : batch-size={}, max-latency={}, journal={} ({} recovered)",
+                batchSize, maxLatency, journalFile.toAbsolutePath(), recovered.size());
+    }
+
+    // 종료 -- 새 요청은 거절하고 큐에 남은 댓글을 모두 커밋한 뒤 종료 (시간 안에 끝나지 않으면 journal에 남아 다음 시작 때 복구)
+    @PreDestroy
+    public void stop() throws InterruptedException, IOException {
+        running = false;
+
+        if (writer != null) {
+            writer.join(Duration.ofSeconds(30));
+        }
+
+        if (journal != null) {
+            journal.close();
+        }
+    }
+
+    private void drainLoop() {
+        List<Pending> batch = new ArrayList<>(batchSize);
+
+        while (running || !queue.isEmpty()) {
+            try {
+                Pending first = queue.poll(200, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+
+                // 첫 댓글부터 max-latency 동안 batch-size까지 모은다
+                batch.add(first);
+                long deadline = System.nanoTime() + maxLatency.toNanos();
+                while (batch.size() < batchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 || queue.drainTo(batch, batchSize - batch.size()) == 0
+                            && !pollInto(batch, remaining)) {
+                        break;
+                    }
+                }
+
+                commit(batch, true);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("reply ingest writer failed", e);
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    private boolean pollInto(List<Pending> batch, long timeoutNanos) throws InterruptedException {
+        Pending next = queue.poll(timeoutNanos, TimeUnit.NANOSECONDS);
+        if (next == null) {
+            return false;
+        }
+        batch.add(next);
+        return true;
+    }
+
+    // 배치 커밋 -- journal fsync 1번 + 트랜잭션 1번, 실패하면 (잘못된 게시글 번호 등) 한 건씩 나누어 등록
+    private void commit(List<Pending> batch, boolean truncateIfIdle) {
+        try {
+            forceJournal();
+        } catch (IOException e) { // -- 내구성을 보장할 수 없으면 저장하지 않고 중단
+            abort(batch, e);
+            return;
+        }
+
+        List<ReplyDTO> replyDTOList = batch.stream().map(pending -> pending.replyDTO).toList();
+
+        try {
+            List<Long> rnos = commitTimer.record(() -> replyService.registerAll(replyDTOList));
+            for (int i = 0; i < batch.size(); i++) {
+                batch.get(i).future.complete(rnos.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("group commit of {} replies failed, registering one by one : {}", batch.size(), e.toString());
+
+            for (Pending pending : batch) {
+                try {
+                    pending.future.complete(replyService.register(pending.replyDTO));
+                } catch (RuntimeException ex) {
+                    pending.future.completeExceptionally(ex);
+                }
+            }
+        }
+
+        batchSizeSummary.record(batch.size());
+        markCommitted(batch.get(batch.size() - 1).seq, truncateIfIdle);
+    }
+
+    // journal fsync 실패 -- 디스크에 어디까지 남았는지 알 수 없으므로 (이후 fsync가 성공해도 믿을 수 없음) 더 받지 않는다
+    // 배치와 큐에 남은 요청은 모두 실패로 응답하고, journal은 옆으로 옮겨 확인용으로만 남긴다 (복구 대상 아님)
+    private void abort(List<Pending> batch, IOException e) {
+        log.error("reply ingest journal fsync failed -- stop accepting replies", e);
+
+        List<Pending> aborted = new ArrayList<>(batch);
+
+        synchronized (journalLock) {
+            failed = true;
+            running = false;
+            queue.drainTo(aborted);
+
+            Path failedFile = journalFile.resolveSibling(journalFile.getFileName() + ".failed-" + System.currentTimeMillis());
+            try {
+                journal.close();
+                Files.move(journalFile, failedFile, StandardCopyOption.ATOMIC_MOVE);
+                log.error("reply ingest journal moved to {} -- {} replies were answered as failed", failedFile, aborted.size());
+            } catch (IOException ex) {
+                log.error("could not move the reply ingest journal aside -- {} failed replies may be registered on the next start", aborted.size(), ex);
+            }
+        }
+
+        UncheckedIOException cause = new UncheckedIOException("reply ingest journal fsync failed", e);
+        aborted.forEach(pending -> pending.future.completeExceptionally(cause));
+    }
+
+    private void markCommitted(long seq, boolean truncateIfIdle) {
+        synchronized (journalLock) {
+            if (truncateIfIdle && queue.isEmpty()) { // -- 남은 요청이 없으면 journal을 비운다
+                truncateJournal();
+            } else {
+                appendJournal(Map.of("committed", seq));
+            }
+        }
+    }
+
+    // journal에서 커밋 표시 이후의 요청을 읽어 큐에 넣을 항목으로 반환
+    private List<Pending> recover() throws IOException {
+        if (!Files.exists(journalFile)) {
+            return List.of();
+        }
+
+        Map<Long, ReplyDTO> pendingBySeq = new LinkedHashMap<>();
+        long committed = 0;
+
+        try (BufferedReader reader = Files.newBufferedReader(journalFile, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank()) {
+                    continue;
+                }
+
+                JsonNode node;
+                try {
+                    node = objectMapper.readTree(line);
+                } catch (IOException e) { // -- 마지막 줄을 쓰는 중에 종료된 경우
+                    log.warn("skip broken reply ingest journal line : {}", line);
+                    continue;
+                }
+
+                if (node.has("committed")) {
+                    committed = Math.max(committed, node.get("committed").asLong());
+                } else {
+                    long seq = node.get("seq").asLong();
+                    pendingBySeq.put(seq, objectMapper.treeToValue(node.get("reply"), ReplyDTO.class));
+                    lastSeq = Math.max(lastSeq, seq);
+                }
+            }
+        }
+
+        List<Pending> recovered = new ArrayList<>();
+        for (Map.Entry<Long, ReplyDTO> entry : pendingBySeq.entrySet()) {
+            if (entry.getKey() > committed) {
+                Pending pending = new Pending(entry.getValue(), new CompletableFuture<>());
+                pending.seq = entry.getKey();
+                recovered.add(pending);
+            }
+        }
+
+        return recovered;
+    }
+
+    private void appendJournal(Map<String, Object> record) {
+        try {
+            byte[] line = (objectMapper.writeValueAsString(record) + "\n").getBytes(StandardCharsets.UTF_8);
+            ByteBuffer buffer = ByteBuffer.wrap(line);
+            while (buffer.hasRemaining()) {
+                journal.write(buffer);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("reply ingest journal write failed", e);
+        }
+    }
+
+    // 테스트에서 fsync 실패를 흉내낼 수 있도록 package-private
+    void forceJournal() throws IOException {
+        journal.force(false);
+    }
+
+    private void truncateJournal() {
+        try {
+            journal.truncate(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException("reply ingest journal truncate failed", e);
+        }
+    }
+
+    // 큐에 들어간 등록 요청 하나
+    private static final class Pending {
+        private final ReplyDTO replyDTO;
+        private final CompletableFuture<Long> future;
+        private long seq;
+
+        private Pending(ReplyDTO replyDTO, CompletableFuture<Long> future) {
+            this.replyDTO = replyDTO;
+            this.future = future;
+        }
+    }
+}
@@ -0,0 +1,9 @@
+package org.zerock.b01.service;
+
+// 쓰기 지연(write-behind) 댓글 등록 큐가 가득 차서 요청을 받을 수 없을 때 -- CustomRestAdvice에서 503 응답
+public class ReplyIngestRejectedException extends RuntimeException {
+
+    public ReplyIngestRejectedException(String message) {
+        super(message);
+    }
+}
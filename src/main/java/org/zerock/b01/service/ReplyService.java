@@ -4,10 +4,19 @@ import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
 import org.zerock.b01.dto.ReplyDTO;
 
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
 public interface ReplyService {
     // 댓글 등록
     Long register(ReplyDTO replyDTO);
 
+    // 댓글 일괄 등록 -- 생성된 댓글 번호(rno)를 입력 순서대로 반환
+    List<Long> registerAll(List<ReplyDTO> replyDTOList);
+
+    // 댓글 등록 (비동기) -- 쓰기 지연 등록(b01.reply.ingest.enabled)을 켜면 큐에 넣고 group commit 후 rno 전달, 끄면 register()와 같음
+    CompletableFuture<Long> registerAsync(ReplyDTO replyDTO);
+
     // 특정 번호 댓글 조회
     ReplyDTO read(Long rno);
 
@@ -20,4 +29,7 @@ public interface ReplyService {
     // 특정 게시글의 댓글 목록 처리
     PageResponseDTO<ReplyDTO> getListOfBoard(Long bno, PageRequestDTO pageRequestDTO);
 
+    // 특정 게시글의 댓글 목록 (커서 방식) -- afterRno 다음 댓글부터 size개, 전체 개수 없이 nextCursor만 반환
+    PageResponseDTO<ReplyDTO> getListOfBoardAfter(Long bno, Long afterRno, PageRequestDTO pageRequestDTO);
+
 }
@@ -1,31 +1,71 @@
 package org.zerock.b01.service;
 
-import lombok.RequiredArgsConstructor;
+import io.micrometer.core.annotation.Timed;
 import lombok.extern.log4j.Log4j2;
-import org.modelmapper.ModelMapper;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.domain.Reply;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
 import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.event.ReplyChangedEvent;
+import org.zerock.b01.mapper.ReplyMapper;
+import org.zerock.b01.repository.BoardRepository;
+import org.zerock.b01.repository.ReplyJdbcRepository;
 import org.zerock.b01.repository.ReplyRepository;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.NoSuchElementException;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 @Service
-@RequiredArgsConstructor
+@Timed(value = "b01.service", description = "Service method execution time") // -- 메서드별 실행 시간 (class, method 태그)
 @Log4j2
+@Transactional(readOnly = true) // -- 기본은 읽기 전용 트랜잭션 (flush 생략, 스냅샷 없음, replica 설정 시 replica에서 조회), 쓰기 메서드는 따로 지정
 public class ReplyServiceImpl implements ReplyService {
 
     private final ReplyRepository replyRepository;
-    private final ModelMapper modelMapper;
+    private final BoardRepository boardRepository;
+    private final ReplyJdbcRepository replyJdbcRepository; // -- 일괄 등록용 JDBC batch insert
+    private final ReplyMapper replyMapper; // -- Reply -> ReplyDTO 변환 (MapStruct 생성 코드)
+    private final ApplicationEventPublisher eventPublisher; // -- 댓글 변경 이벤트 발행 (목록 캐시 무효화 등)
+    private final int batchSize; // -- 일괄 등록 시 한 번의 JDBC batch로 보내는 건수
+    private final ObjectProvider<ReplyIngestQueue> ingestQueue; // -- 쓰기 지연 등록 큐 (b01.reply.ingest.enabled=true일 때만 존재)
+    private final TransactionTemplate transactionTemplate; // -- 큐가 없을 때 registerAsync()에서 바로 등록하는 쓰기 트랜잭션
+
+    public ReplyServiceImpl(ReplyRepository replyRepository,
+                            BoardRepository boardRepository,
+                            ReplyJdbcRepository replyJdbcRepository,
+                            ReplyMapper replyMapper,
+                            ApplicationEventPublisher eventPublisher,
+                            @Value("${b01.reply.batch-size:500}") int batchSize,
+                            ObjectProvider<ReplyIngestQueue> ingestQueue,
+                            PlatformTransactionManager transactionManager) {
+        this.replyRepository = replyRepository;
+        this.boardRepository = boardRepository;
+        this.replyJdbcRepository = replyJdbcRepository;
+        this.replyMapper = replyMapper;
+        this.eventPublisher = eventPublisher;
+        this.batchSize = batchSize;
+        this.ingestQueue = ingestQueue;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
 
     // Reply 엔티티 객체가 Board 엔티티 객체를 참조하기 때문에 별도 처리 필요
     // ReplyDTO를 Reply 엔티티로 변환할 때 bno 값을 포함할 수 있도록 별도 처리하는 method 선언
@@ -41,23 +81,56 @@ public class ReplyServiceImpl implements ReplyService {
                 .build();
     }
 
-    // Reply 엔티티를 ReplyDTO로 변환할 때 bno 값을 포함할 수 있도록 별도 처리하는 method 선언
-    private ReplyDTO entityToDto(Reply reply) {
-        return ReplyDTO.builder()
-                .rno(reply.getRno())
-                .replyText(reply.getReplyText())
-                .replyer(reply.getReplyer())
-                .regDate(reply.getRegDate())
-                .modDate(reply.getModDate())
-                .bno(reply.getBoard().getBno())
-                .build();
-    }
-
     @Override
+    @Transactional // -- 댓글 저장과 게시글 댓글 수 증가를 하나의 트랜잭션으로 처리
     public Long register(ReplyDTO replyDTO) {
-        // Reply reply = modelMapper.map(replyDTO, Reply.class);
         Reply reply = dtoToEntity(replyDTO);
-        return replyRepository.save(reply).getRno();
+        Long rno = replyRepository.save(reply).getRno();
+
+        boardRepository.updateReplyCount(replyDTO.getBno(), 1); // -- 게시글의 댓글 수 +1 (SQL에서 증가)
+        eventPublisher.publishEvent(new ReplyChangedEvent(replyDTO.getBno(), rno, ReplyChangedEvent.Type.REGISTERED));
+
+        return rno;
+    }
+
+    @Override
+    @Transactional // -- 전체 댓글 저장과 댓글 수 증가를 하나의 트랜잭션으로 처리 (하나라도 실패하면 모두 롤백)
+    public List<Long> registerAll(List<ReplyDTO> replyDTOList) {
+        LocalDateTime now = LocalDateTime.now(); // -- JDBC로 저장하므로 Auditing 대신 직접 등록/수정 일자 지정 (요청의 regDate는 사용하지 않음)
+        List<Long> rnos = new ArrayList<>(replyDTOList.size());
+
+        // batchSize 단위로 나누어 JDBC batch insert
+        for (int from = 0; from < replyDTOList.size(); from += batchSize) {
+            List<ReplyDTO> chunk = replyDTOList.subList(from, Math.min(from + batchSize, replyDTOList.size()));
+            rnos.addAll(replyJdbcRepository.insertBatch(chunk, now));
+        }
+
+        // 게시글별로 댓글 번호를 모아서 댓글 수 증가와 댓글 변경 이벤트를 게시글당 한 번만 처리
+        // (이벤트 리스너 -- 목록 캐시 무효화, SSE 전송 -- 가 댓글마다 실행되지 않도록)
+        Map<Long, List<Long>> rnosByBno = new LinkedHashMap<>();
+        for (int i = 0; i < rnos.size(); i++) {
+            rnosByBno.computeIfAbsent(replyDTOList.get(i).getBno(), bno -> new ArrayList<>()).add(rnos.get(i));
+        }
+        rnosByBno.forEach((bno, boardRnos) -> {
+            boardRepository.updateReplyCount(bno, boardRnos.size());
+            eventPublisher.publishEvent(new ReplyChangedEvent(bno, boardRnos, ReplyChangedEvent.Type.REGISTERED));
+        });
+
+        log.info("registerAll: {} replies, {} boards", rnos.size(), rnosByBno.size());
+
+        return rnos;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.NOT_SUPPORTED) // -- 큐에 넣기만 하므로 트랜잭션 없이 실행 (저장은 writer 스레드에서)
+    public CompletableFuture<Long> registerAsync(ReplyDTO replyDTO) {
+        ReplyIngestQueue queue = ingestQueue.getIfAvailable();
+        if (queue != null) {
+            return queue.submit(replyDTO);
+        }
+
+        // 쓰기 지연 등록을 사용하지 않으면 바로 등록 (자기 호출은 프록시를 거치지 않으므로 TransactionTemplate 사용)
+        return CompletableFuture.completedFuture(transactionTemplate.execute(status -> register(replyDTO)));
     }
 
     @Override
@@ -65,20 +138,22 @@ public class ReplyServiceImpl implements ReplyService {
         Optional<Reply> replyOptional = replyRepository.findById(rno);
         Reply reply = replyOptional.orElseThrow();
 
-        // return modelMapper.map(reply, ReplyDTO.class);
-
-        return entityToDto(reply);
+        return replyMapper.toDTO(reply); // -- bno 값은 reply.board.bno에서 매핑
     }
 
     @Override
+    @Transactional // -- 댓글 내용 수정 (dirty checking으로 update)
     public void modify(ReplyDTO replyDTO) { // -- 매개변수 replyDTO (수정 내용이 담긴 replyDTO)
         Optional<Reply> replyOptional = replyRepository.findById(replyDTO.getRno());
         Reply reply = replyOptional.orElseThrow();
         reply.changeText(replyDTO.getReplyText()); // changeText() -- 댓글 내용만 수정하는 메서드
         replyRepository.save(reply);
+        boardRepository.updateReplyVersion(reply.getBoard().getBno()); // -- 댓글 수는 그대로, 댓글 버전만 +1
+        eventPublisher.publishEvent(new ReplyChangedEvent(reply.getBoard().getBno(), reply.getRno(), ReplyChangedEvent.Type.MODIFIED));
     }
 
     @Override
+    @Transactional // -- 댓글 삭제와 게시글 댓글 수 감소를 하나의 트랜잭션으로 처리
     public void remove(Long rno) {
 
         // 없는 번호를 조회하여 삭제하려고 하면 예외 발생할 수 있도록 설정
@@ -88,7 +163,11 @@ public class ReplyServiceImpl implements ReplyService {
         }
 
         // 만약 해당 번호를 문제 없이 찾았다면 삭제 진행
+        Long bno = replyOptional.get().getBoard().getBno();
         replyRepository.deleteById(rno);
+
+        boardRepository.updateReplyCount(bno, -1); // -- 게시글의 댓글 수 -1 (SQL에서 감소)
+        eventPublisher.publishEvent(new ReplyChangedEvent(bno, rno, ReplyChangedEvent.Type.REMOVED));
     }
 
     // 특정 게시글(bno)에 대한 "댓글 목록" 페이지네이션하여 반환
@@ -105,12 +184,11 @@ public class ReplyServiceImpl implements ReplyService {
                 , Sort.by("rno").ascending()
         );
 
-        // 특정 게시글에 대한 댓글 목록 조회
-        Page<Reply> result = replyRepository.listOfBoard(bno, pageable);
+        // 특정 게시글에 대한 댓글 목록 조회 -- Reply 엔티티 대신 필요한 컬럼만 ReplyDTO로 바로 조회 (별도 변환 불필요)
+        Page<ReplyDTO> result = replyRepository.listDTOOfBoard(bno, pageable);
 
-        // Page<Reply> 객체 : 조회해 온 데이터 뿐만 아니라 페이지의 정보를 가지고 있는 객체
-        // Page<Reply> 객체의 내용 중 조회한 댓글 목록을 가지고 reply 객체를 dto 타입으로 변환 및 리스트로 수집하는 스트림 실행
-        List<ReplyDTO> dtoList = result.getContent().stream().map(reply -> modelMapper.map(reply, ReplyDTO.class)).toList();
+        // Page<ReplyDTO> 객체 : 조회해 온 데이터 뿐만 아니라 페이지의 정보를 가지고 있는 객체
+        List<ReplyDTO> dtoList = result.getContent();
 
         return PageResponseDTO.<ReplyDTO>withAll()
                 .pageRequestDTO(pageRequestDTO)
@@ -118,4 +196,27 @@ public class ReplyServiceImpl implements ReplyService {
                 .total((int)result.getTotalElements()) // -- 전체 댓글 수
                 .build();
     }
+
+    // 무한 스크롤용 -- size + 1개를 조회해서 다음 댓글이 있는지만 판단 (count 쿼리, OFFSET 없음)
+    @Override
+    public PageResponseDTO<ReplyDTO> getListOfBoardAfter(Long bno, Long afterRno, PageRequestDTO pageRequestDTO) {
+        int size = Math.max(1, Math.min(pageRequestDTO.getSize(), 100));
+
+        List<ReplyDTO> dtoList = replyRepository.listDTOOfBoardAfter(bno, afterRno == null ? 0L : afterRno,
+                PageRequest.of(0, size + 1));
+
+        boolean hasNext = dtoList.size() > size;
+        if (hasNext) {
+            dtoList = dtoList.subList(0, size);
+        }
+
+        // 다음 요청의 after 값 -- 마지막 댓글 번호
+        String nextCursor = hasNext ? String.valueOf(dtoList.get(dtoList.size() - 1).getRno()) : null;
+
+        return PageResponseDTO.<ReplyDTO>withCursor()
+                .pageRequestDTO(pageRequestDTO)
+                .dtoList(dtoList)
+                .nextCursor(nextCursor)
+                .build();
+    }
 }
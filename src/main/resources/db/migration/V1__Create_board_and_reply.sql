@@ -0,0 +1,25 @@
+-- baseline schema -- the tables as the application created them (spring.jpa.hibernate.ddl-auto=update) before any migration
+-- (IF NOT EXISTS : databases created before migrations were introduced keep their tables and data)
+-- columns added later are never added here, only by their own ALTER TABLE migration (V3, V4)
+
+CREATE TABLE IF NOT EXISTS board (
+    bno         BIGINT        NOT NULL AUTO_INCREMENT,
+    title       VARCHAR(500)  NOT NULL,
+    content     VARCHAR(2000) NOT NULL,
+    writer      VARCHAR(50)   NOT NULL,
+    regdate     DATETIME(6),
+    moddate     DATETIME(6),
+    PRIMARY KEY (bno)
+) ENGINE = InnoDB;
+
+CREATE TABLE IF NOT EXISTS reply (
+    rno        BIGINT NOT NULL AUTO_INCREMENT,
+    board_bno  BIGINT,
+    reply_text VARCHAR(255),
+    replyer    VARCHAR(255),
+    regdate    DATETIME(6),
+    moddate    DATETIME(6),
+    PRIMARY KEY (rno),
+    INDEX idx_reply_board_bno (board_bno),
+    CONSTRAINT fk_reply_board FOREIGN KEY (board_bno) REFERENCES board (bno)
+) ENGINE = InnoDB;
@@ -0,0 +1,3 @@
+-- per-board reply version -- incremented whenever a reply of the board is registered, modified or removed
+-- (ETag of GET /replies/list/{bno}, compared without reading the replies)
+ALTER TABLE board ADD COLUMN reply_version BIGINT NOT NULL DEFAULT 0;
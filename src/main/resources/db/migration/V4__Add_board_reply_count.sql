@@ -0,0 +1,7 @@
+-- per-board reply count (denormalized) -- board lists read it instead of joining reply and grouping
+-- (existing databases only have the baseline board table, so the column is always added here)
+ALTER TABLE board ADD COLUMN reply_count BIGINT NOT NULL DEFAULT 0;
+
+-- backfill from the existing replies -- afterwards BoardRepository.updateReplyCount() keeps it in step
+-- (the scheduled ReplyCountReconciler, off by default, only repairs drift)
+UPDATE board b SET reply_count = (SELECT COUNT(*) FROM reply r WHERE r.board_bno = b.bno);
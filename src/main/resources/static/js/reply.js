@@ -41,6 +41,34 @@ async function getList({bno, page, size, goLast}) {
     return result.data
 }
 
+// 커서 방식 댓글 목록 (무한 스크롤용) -- after 댓글 번호 다음부터 size개, 첫 요청은 after = 0
+// 응답의 nextCursor가 다음 요청의 after 값이며, null이면 더 가져올 댓글이 없음 (total은 계산하지 않음)
+async function getListAfter({bno, after, size}) {
+    const result = await axios.get(`/replies/list/${bno}`, {params: {after, size}})
+    return result.data
+}
+
+// 댓글 변경 구독 (Server-Sent Events) -- 다른 사용자의 댓글 등록/수정/삭제가 커밋되면 handlers의 함수 호출
+// handlers : {onRegistered(replyDTO), onModified(replyDTO), onRemoved({rno, bno})}
+// 연결이 끊기면 EventSource가 자동으로 다시 연결하며, 그 사이의 변경은 onReconnect()에서 목록을 다시 읽어 반영
+function subscribeReplies(bno, handlers) {
+    const source = new EventSource(`/replies/stream/${bno}`)
+    let opened = false
+
+    source.addEventListener('REGISTERED', e => handlers.onRegistered && handlers.onRegistered(JSON.parse(e.data)))
+    source.addEventListener('MODIFIED', e => handlers.onModified && handlers.onModified(JSON.parse(e.data)))
+    source.addEventListener('REMOVED', e => handlers.onRemoved && handlers.onRemoved(JSON.parse(e.data)))
+
+    source.addEventListener('open', () => {
+        if (opened && handlers.onReconnect) {
+            handlers.onReconnect()
+        }
+        opened = true
+    })
+
+    return source
+}
+
 // 새로운 댓글을 등록하는 기능 추가 -- 파라미터를 JS의 객체로 받아 axios.post()를 이용해 전달
 async function addReply(replyObj) {
     const response = await axios.post(`/replies/`, replyObj)
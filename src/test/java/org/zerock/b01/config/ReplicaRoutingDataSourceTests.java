@@ -0,0 +1,132 @@
+package org.zerock.b01.config;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLNonTransientConnectionException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// 스프링 컨텍스트 없이 H2 인메모리 DB 세 개(primary, replica 두 개)로 라우팅 확인
+class ReplicaRoutingDataSourceTests {
+
+    private ReplicaRoutingDataSource replicaDataSource;
+
+    @AfterEach
+    public void tearDown() {
+        replicaDataSource.destroy();
+    }
+
+    @Test
+    public void testReadOnlyRoutesToReplicas() {
+        JdbcTemplate jdbcTemplate = routing(List.of(h2("replica0"), h2("replica1")));
+
+        // 읽기 전용 트랜잭션은 replica를 번갈아 사용
+        assertEquals("replica0", whoami(jdbcTemplate, true));
+        assertEquals("replica1", whoami(jdbcTemplate, true));
+        assertEquals("replica0", whoami(jdbcTemplate, true));
+
+        // 쓰기 트랜잭션은 primary
+        assertEquals("primary", whoami(jdbcTemplate, false));
+    }
+
+    @Test
+    public void testUnhealthyReplicaSkipped() {
+        JdbcTemplate jdbcTemplate = routing(List.of(down(), h2("replica1")));
+
+        assertEquals("replica1", whoami(jdbcTemplate, true));
+        assertEquals("replica1", whoami(jdbcTemplate, true));
+        assertEquals(1, replicaDataSource.getHealthyCount());
+    }
+
+    @Test
+    public void testBusyReplicaStaysHealthy() { // -- 풀 대기 시간 초과는 이번 요청만 다음 replica로, 비정상 표시는 하지 않는다
+        JdbcTemplate jdbcTemplate = routing(List.of(busy(), h2("replica1")));
+
+        assertEquals("replica1", whoami(jdbcTemplate, true));
+        assertEquals(2, replicaDataSource.getHealthyCount());
+
+        replicaDataSource.checkHealth();
+        assertEquals(2, replicaDataSource.getHealthyCount());
+    }
+
+    @Test
+    public void testFallbackToPrimary() {
+        JdbcTemplate jdbcTemplate = routing(List.of(down()));
+
+        assertEquals("primary", whoami(jdbcTemplate, true));
+    }
+
+    @Test
+    public void testConnectionWithCredentials() throws SQLException { // -- 사용자/비밀번호를 지정해도 같은 라우팅 (down replica 건너뛰고 다음 replica)
+        routing(List.of(down(), h2("replica1")));
+
+        try (Connection connection = replicaDataSource.getConnection("sa", "");
+             var resultSet = connection.createStatement().executeQuery("select name from whoami")) {
+            resultSet.next();
+            assertEquals("replica1", resultSet.getString(1));
+        }
+    }
+
+    private JdbcTemplate routing(List<DataSource> replicas) {
+        DataSource primary = h2("primary");
+        replicaDataSource = new ReplicaRoutingDataSource(replicas, primary, Duration.ofHours(1));
+
+        LazyConnectionDataSourceProxy dataSource = new LazyConnectionDataSourceProxy(primary);
+        dataSource.setReadOnlyDataSource(replicaDataSource);
+
+        return new JdbcTemplate(dataSource);
+    }
+
+    private String whoami(JdbcTemplate jdbcTemplate, boolean readOnly) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(new DataSourceTransactionManager(jdbcTemplate.getDataSource()));
+        transactionTemplate.setReadOnly(readOnly);
+        return transactionTemplate.execute(status -> jdbcTemplate.queryForObject("select name from whoami", String.class));
+    }
+
+    // 접속할 수 없는 replica
+    private DataSource down() {
+        return failing(new SQLNonTransientConnectionException("replica down"));
+    }
+
+    // 풀의 커넥션이 모두 사용 중인 replica (Hikari connection-timeout)
+    private DataSource busy() {
+        return failing(new SQLTransientConnectionException("pool - Connection is not available, request timed out"));
+    }
+
+    private DataSource failing(SQLException exception) {
+        return new AbstractDataSource() {
+            @Override
+            public Connection getConnection() throws SQLException {
+                throw exception;
+            }
+
+            @Override
+            public Connection getConnection(String username, String password) throws SQLException {
+                throw exception;
+            }
+        };
+    }
+
+    // 이름이 다른 H2 인메모리 DB -- 어느 DB에서 읽었는지 whoami 테이블로 구분
+    private DataSource h2(String name) {
+        DriverManagerDataSource dataSource = new DriverManagerDataSource("jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1", "sa", "");
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+        jdbcTemplate.execute("create table if not exists whoami (name varchar(20))");
+        jdbcTemplate.update("delete from whoami");
+        jdbcTemplate.update("insert into whoami values (?)", name);
+        return dataSource;
+    }
+}
@@ -0,0 +1,52 @@
+package org.zerock.b01.controller;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 같은 목록 화면을 두 번 요청하면 두 번째는 행/페이지 번호 조각을 캐시에서 꺼내고, 결과 HTML은 같은지 확인
+@SpringBootTest(properties = "b01.board.list-cache.enabled=false")
+@AutoConfigureMockMvc
+@Log4j2
+class BoardListFragmentCacheTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Test
+    public void testFragmentCacheHit() throws Exception {
+        String first = render();
+        double hits = hitCount();
+
+        String second = render();
+
+        log.info("fragment cache hits : {} -> {}", hits, hitCount());
+
+        assertEquals(first, second);
+        assertTrue(hitCount() >= hits + 11); // -- 행 10개 + 페이지 번호
+    }
+
+    private String render() throws Exception {
+        return mockMvc.perform(get("/board/list").param("page", "1").param("size", "10"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+    }
+
+    private double hitCount() {
+        return meterRegistry.get("cache.gets")
+                .tag("cache", "board.list.fragments")
+                .tag("result", "hit")
+                .functionCounter().count();
+    }
+}
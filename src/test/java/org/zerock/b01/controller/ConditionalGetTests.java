@@ -0,0 +1,147 @@
+package org.zerock.b01.controller;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.service.ReplyService;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// HTTP 캐시 -- 게시글 화면/댓글 목록의 ETag(304 Not Modified)와 정적 자원의 해시 URL/immutable 캐시 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+@Log4j2
+class ConditionalGetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplyService replyService;
+
+    @Test
+    public void testBoardReadNotModified() throws Exception {
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        String etag = mockMvc.perform(get("/board/read").param("bno", String.valueOf(bno)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        log.info(etag);
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/board/read").param("bno", String.valueOf(bno)).header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+    @Test
+    public void testModifyErrorsNotCached() throws Exception { // -- 수정 검증 실패 후 redirect된 화면은 같은 ETag라도 304가 아니라 오류를 다시 보여줘야 한다
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        String etag = mockMvc.perform(get("/board/modify").param("bno", String.valueOf(bno)))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+
+        // 제목이 짧아 검증 실패 -- 게시글은 바뀌지 않고 errors flash 속성과 함께 수정 화면으로 redirect
+        MvcResult result = mockMvc.perform(post("/board/modify")
+                        .param("bno", String.valueOf(bno))
+                        .param("title", "x")
+                        .param("content", "content")
+                        .param("writer", "user1"))
+                .andExpect(status().is3xxRedirection())
+                .andReturn();
+
+        // redirect를 따라가면서 flash 속성을 넘기고, 브라우저처럼 이전 ETag로 조건부 요청
+        String html = mockMvc.perform(get(result.getResponse().getRedirectedUrl())
+                        .flashAttrs(result.getFlashMap())
+                        .header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(html.contains("\"field\":\"title\""));
+    }
+
+    @Test
+    public void testReplyListETagChanges() throws Exception {
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        String etag = mockMvc.perform(get("/replies/list/" + bno).param("after", "0"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotNull(etag);
+
+        mockMvc.perform(get("/replies/list/" + bno).param("after", "0").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+
+        // 댓글이 등록되면 댓글 버전이 바뀌므로 이전 ETag로는 304가 아니다
+        Long rno = replyService.register(ReplyDTO.builder()
+                .replyText("ETag Reply")
+                .replyer("replyer")
+                .bno(bno)
+                .build());
+
+        String changed = mockMvc.perform(get("/replies/list/" + bno).param("after", "0").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        log.info(etag + " -> " + changed);
+        assertNotEquals(etag, changed);
+
+        replyService.remove(rno);
+    }
+
+    @Test
+    public void testFingerprintedStaticResource() throws Exception { // -- 템플릿 링크가 해시 URL로 바뀌고, 미리 압축된 파일이 immutable 캐시로 응답되는지 확인
+        String html = mockMvc.perform(get("/board/list"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        Matcher matcher = Pattern.compile("/css/styles-[0-9a-f]{32}\\.css").matcher(html);
+        assertTrue(matcher.find());
+
+        log.info(matcher.group());
+
+        mockMvc.perform(get(matcher.group()).header(HttpHeaders.ACCEPT_ENCODING, "gzip"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, containsString("immutable")))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    public void testPlainStaticResourceRevalidated() throws Exception { // -- 해시가 없는 URL은 immutable이 아니라 매번 재검증, index.html도 해시 URL/WebJars 사용
+        mockMvc.perform(get("/css/styles.css"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.CACHE_CONTROL, "no-cache"));
+
+        String html = mockMvc.perform(get("/"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(Pattern.compile("/css/styles-[0-9a-f]{32}\\.css").matcher(html).find());
+        assertTrue(html.contains("/webjars/bootstrap/"));
+        assertFalse(html.contains("cdn.jsdelivr.net"));
+    }
+}
@@ -0,0 +1,55 @@
+package org.zerock.b01.controller;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// 주요 화면/API가 요청당 SQL 실행 횟수(b01.query-budget.max-per-request)를 넘지 않는지 확인
+// strict 모드 -- 예산을 넘으면 QueryCountFilter가 예외를 던져 테스트 실패 (N+1 감지)
+@SpringBootTest(properties = {
+        "b01.query-budget.strict=true",
+        "b01.query-budget.max-per-request=5",
+        "b01.board.list-cache.enabled=false"
+})
+@AutoConfigureMockMvc
+@Log4j2
+class QueryBudgetTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void testBoardList() throws Exception {
+        mockMvc.perform(get("/board/list").param("page", "2"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/board/list").param("type", "tcw").param("keyword", "1"))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testBoardRead() throws Exception {
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        mockMvc.perform(get("/board/read").param("bno", String.valueOf(bno)))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void testReplyList() throws Exception {
+        Long bno = jdbcTemplate.queryForObject("select board_bno from reply order by rno desc limit 1", Long.class);
+
+        mockMvc.perform(get("/replies/list/" + bno).param("size", "50"))
+                .andExpect(status().isOk());
+    }
+}
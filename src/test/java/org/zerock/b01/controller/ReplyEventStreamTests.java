@@ -0,0 +1,99 @@
+package org.zerock.b01.controller;
+
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.zerock.b01.dto.ReplyDTO;
+import org.zerock.b01.service.ReplyService;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+
+// 댓글 변경 SSE -- 구독 중인 게시글에 댓글이 등록/삭제되면 커밋 후 이벤트가 전송되는지 확인
+@SpringBootTest
+@AutoConfigureMockMvc
+@Log4j2
+class ReplyEventStreamTests {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ReplyService replyService;
+
+    @Test
+    public void testReplyEvents() throws Exception {
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        MvcResult result = mockMvc.perform(get("/replies/stream/" + bno))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        Long rno = replyService.register(ReplyDTO.builder()
+                .replyText("SSE Reply")
+                .replyer("replyer")
+                .bno(bno)
+                .build());
+        replyService.remove(rno);
+
+        MockHttpServletResponse response = result.getResponse();
+        String body = awaitContent(response, "event:REMOVED");
+
+        log.info(body);
+
+        assertTrue(body.contains("event:REGISTERED"));
+        assertTrue(body.contains("SSE Reply"));
+        assertTrue(body.contains("id:" + rno));
+        assertTrue(body.contains("event:REMOVED"));
+    }
+
+    @Test
+    public void testBatchReplyEvents() throws Exception { // -- 일괄 등록은 게시글당 이벤트 한 번으로 발행되지만 구독자에게는 댓글마다 전송
+        Long bno = jdbcTemplate.queryForObject("select max(bno) from board", Long.class);
+
+        MvcResult result = mockMvc.perform(get("/replies/stream/" + bno))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        List<Long> rnos = replyService.registerAll(IntStream.rangeClosed(1, 3)
+                .mapToObj(i -> ReplyDTO.builder()
+                        .replyText("SSE Batch Reply " + i)
+                        .replyer("replyer")
+                        .bno(bno)
+                        .build())
+                .toList());
+
+        String body = awaitContent(result.getResponse(), "id:" + rnos.get(2));
+
+        log.info(body);
+
+        rnos.forEach(rno -> assertTrue(body.contains("id:" + rno)));
+        assertTrue(body.indexOf("SSE Batch Reply 1") < body.indexOf("SSE Batch Reply 3")); // -- rno 순서대로 전송
+
+        rnos.forEach(replyService::remove);
+    }
+
+    // 구독자별 전송 스레드가 비동기로 쓰므로 기대하는 내용이 나올 때까지 잠시 기다림
+    private String awaitContent(MockHttpServletResponse response, String expected) throws Exception {
+        long deadline = System.currentTimeMillis() + 5000;
+
+        while (!response.getContentAsString().contains(expected) && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+
+        return response.getContentAsString();
+    }
+}
@@ -1,5 +1,6 @@
 package org.zerock.b01.repository;
 
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,11 +11,17 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.dto.BoardListReplyCountDTO;
+import org.zerock.b01.repository.search.BoardSearch;
+import org.zerock.b01.repository.search.CountMode;
 
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.IntStream;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
 @SpringBootTest
 @Log4j2
 class BoardRepositoryTests {
@@ -22,6 +29,9 @@ class BoardRepositoryTests {
     @Autowired
     private BoardRepository boardRepository;
 
+    @Autowired
+    private MeterRegistry meterRegistry;
+
     @Test
     public void testInsert() {
         IntStream.rangeClosed(1, 100).forEach(i -> {
@@ -145,4 +155,71 @@ class BoardRepositoryTests {
 
         result.getContent().forEach(log::info); // -- 검색 결과 목록을 각각 출력
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testSearchReplyCountCountMode() { // -- 전체 개수 방식별 결과 비교
+        String[] types = {"t", "c", "w"};
+        String keyword = "1";
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("bno").descending());
+
+        Page<BoardListReplyCountDTO> exact = boardRepository.searchWithReplyCount(types, keyword, pageable, CountMode.EXACT);
+        Page<BoardListReplyCountDTO> cached = boardRepository.searchWithReplyCount(types, keyword, pageable, CountMode.CACHED);
+        Page<BoardListReplyCountDTO> lookahead = boardRepository.searchWithReplyCount(types, keyword, pageable, CountMode.LOOKAHEAD);
+
+        log.info("exact : {}, cached : {}, lookahead : {}", exact.getTotalElements(), cached.getTotalElements(), lookahead.getTotalElements());
+
+        assertEquals(exact.getTotalElements(), cached.getTotalElements());
+        assertEquals(exact.getContent(), lookahead.getContent());
+        assertEquals(exact.hasNext(), lookahead.hasNext()); // -- LOOKAHEAD는 다음 페이지 존재 여부만 정확하다
+    }
+
+    @Test
+    public void testSearchReplyCountRelevance() { // -- 정확도순 정렬 (전문 검색 인덱스 사용, 없으면 bno 내림차순으로 대체)
+        String[] types = {"t", "c"};
+        String keyword = "title";
+        Pageable pageable = PageRequest.of(0, 10, Sort.by(BoardSearch.RELEVANCE).descending());
+
+        Page<BoardListReplyCountDTO> result = boardRepository.searchWithReplyCount(types, keyword, pageable);
+
+        log.info("total : {}", result.getTotalElements());
+        result.getContent().forEach(log::info);
+    }
+
+    @Test
+    public void testSearchReplyCountByCursor() { // -- 커서 방식 검색 (전문 검색 인덱스 사용, 없으면 QueryDSL) -- 다음/이전 페이지가 이어지는지 확인
+        String[] types = {"t", "c"};
+        String keyword = "title";
+
+        List<BoardListReplyCountDTO> first = boardRepository.searchWithReplyCountByCursor(types, keyword, null, false, 10);
+        if (first.isEmpty()) {
+            return;
+        }
+
+        List<BoardListReplyCountDTO> second = boardRepository.searchWithReplyCountByCursor(types, keyword,
+                first.get(first.size() - 1).getBno(), false, 10);
+        second.forEach(log::info);
+
+        // 다음 페이지는 이전 페이지 마지막 글보다 작은 bno부터 내림차순
+        if (!second.isEmpty()) {
+            assertTrue(second.get(0).getBno() < first.get(first.size() - 1).getBno());
+
+            // 두 번째 페이지에서 이전 페이지 방향으로 조회하면 첫 페이지와 같다
+            List<BoardListReplyCountDTO> back = boardRepository.searchWithReplyCountByCursor(types, keyword,
+                    second.get(0).getBno(), true, 10);
+            assertEquals(first.stream().map(BoardListReplyCountDTO::getBno).toList(),
+                    back.stream().map(BoardListReplyCountDTO::getBno).toList());
+        }
+    }
+
+    @Test
+    public void testSearchMetrics() { // -- BoardSearch 호출 시간이 검색 종류/페이지 크기 태그와 함께 기록되는지 확인
+        boardRepository.searchWithReplyCount(new String[]{"c", "t"}, "1", PageRequest.of(0, 10, Sort.by("bno").descending()), CountMode.EXACT);
+
+        assertNotNull(meterRegistry.find("b01.board.search")
+                .tag("method", "searchWithReplyCount")
+                .tag("types", "ct")
+                .tag("size", "10")
+                .timer());
+        assertNotNull(meterRegistry.find("b01.board.search.query").tag("phase", "fetch").timer());
+    }
+}
@@ -0,0 +1,162 @@
+package org.zerock.b01.repository;
+
+import lombok.extern.log4j.Log4j2;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.b01.repository.search.CountMode;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// Flyway 마이그레이션으로 만든 인덱스를 실제 조회 쿼리가 사용하는지 EXPLAIN으로 확인
+// BoardSearchImpl/ReplyRepository가 실행한 SQL과 바인딩 값을 datasource-proxy 리스너로 수집한 뒤 같은 SQL을 EXPLAIN
+@SpringBootTest(properties = {
+        "b01.search.fulltext.enabled=false",
+        "b01.board.list-cache.enabled=false"
+})
+@Log4j2
+class QueryPlanTests {
+
+    @TestConfiguration
+    static class CaptureConfig {
+        @Bean
+        public CapturingQueryListener capturingQueryListener() {
+            return new CapturingQueryListener();
+        }
+    }
+
+    @Autowired
+    private BoardRepository boardRepository;
+
+    @Autowired
+    private ReplyRepository replyRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private CapturingQueryListener capturingQueryListener;
+
+    @Test
+    public void testBoardListPlan() { // -- 기본 목록 (bno > 0 order by bno desc limit ?) -- PK 범위, filesort 없음
+        Map<String, Object> plan = explain(() -> boardRepository.searchWithReplyCount(null, null,
+                PageRequest.of(0, 10, Sort.by("bno").descending()), CountMode.LOOKAHEAD));
+
+        assertIndexUsed(plan, "PRIMARY");
+    }
+
+    @Test
+    public void testBoardListByRegDatePlan() { // -- 작성일 정렬 목록 -- board(regdate) 인덱스 순서로 읽고 LIMIT에서 멈춤
+        Map<String, Object> plan = explain(() -> boardRepository.searchWithReplyCount(null, null,
+                PageRequest.of(0, 10, Sort.by("regDate").descending()), CountMode.LOOKAHEAD));
+
+        assertIndexUsed(plan, "idx_board_regdate");
+    }
+
+    @Test
+    public void testBoardCursorPlan() { // -- 커서 목록 (bno < ? order by bno desc limit ?) -- PK 범위
+        Long maxBno = boardRepository.getMaxBno();
+
+        Map<String, Object> plan = explain(() -> boardRepository.searchWithReplyCountByCursor(null, null,
+                maxBno, false, 10));
+
+        assertIndexUsed(plan, "PRIMARY");
+    }
+
+    @Test
+    public void testReplyCursorPlan() { // -- 게시글별 댓글 커서 목록 -- reply(board_bno, rno) 범위
+        Long bno = jdbcTemplate.queryForObject("select board_bno from reply order by rno desc limit 1", Long.class);
+
+        Map<String, Object> plan = explain(() -> replyRepository.listDTOOfBoardAfter(bno, 0L, PageRequest.of(0, 11)));
+
+        assertIndexUsed(plan, "idx_reply_board_bno_rno");
+    }
+
+    // 실행 중 처음 나온 select 문을 같은 바인딩 값으로 EXPLAIN -- 단일 테이블 조회이므로 첫 행만 사용
+    private Map<String, Object> explain(Runnable runnable) {
+        capturingQueryListener.start();
+        try {
+            runnable.run();
+        } finally {
+            capturingQueryListener.stop();
+        }
+
+        CapturedQuery query = capturingQueryListener.getQueries().stream()
+                .filter(q -> q.sql().trim().toLowerCase().startsWith("select"))
+                .findFirst()
+                .orElseThrow();
+
+        List<Map<String, Object>> rows = jdbcTemplate.queryForList("explain " + query.sql(), query.args());
+
+        log.info(query.sql());
+        rows.forEach(log::info);
+
+        return rows.get(0);
+    }
+
+    private void assertIndexUsed(Map<String, Object> plan, String index) {
+        assertEquals(index, plan.get("key"));
+
+        String extra = String.valueOf(plan.get("Extra"));
+        assertFalse(extra.contains("Using filesort"), extra);
+    }
+
+    record CapturedQuery(String sql, Object[] args) {
+    }
+
+    // start() ~ stop() 사이에 실행된 SQL과 바인딩 값 수집
+    static class CapturingQueryListener implements QueryExecutionListener {
+
+        private final List<CapturedQuery> queries = new CopyOnWriteArrayList<>();
+
+        private volatile boolean capturing;
+
+        void start() {
+            queries.clear();
+            capturing = true;
+        }
+
+        void stop() {
+            capturing = false;
+        }
+
+        List<CapturedQuery> getQueries() {
+            return queries;
+        }
+
+        @Override
+        public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        }
+
+        @Override
+        public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+            if (!capturing) {
+                return;
+            }
+
+            for (QueryInfo queryInfo : queryInfoList) {
+                // setXxx(index, value) 호출 목록 -- 파라미터 순서대로 값만 꺼낸다
+                Object[] args = queryInfo.getParametersList().isEmpty() ? new Object[0]
+                        : queryInfo.getParametersList().get(0).stream()
+                        .sorted(Comparator.comparingInt(op -> (Integer) op.getArgs()[0]))
+                        .map(op -> op.getArgs()[1])
+                        .toArray();
+
+                queries.add(new CapturedQuery(queryInfo.getQuery(), args));
+            }
+        }
+    }
+}
@@ -10,6 +10,7 @@ import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.zerock.b01.domain.Board;
 import org.zerock.b01.domain.Reply;
+import org.zerock.b01.dto.ReplyDTO;
 
 @SpringBootTest
 @Log4j2
@@ -50,4 +51,17 @@ class ReplyRepositoryTest {
         result.getContent().forEach(log::info);
     }
 
-}
\ No newline at end of file
+    @Test
+    public void testBoardRepliesDTO() {
+        Long bno = 100L;
+
+        Pageable pageable = PageRequest.of(0, 10, Sort.by("rno").ascending());
+
+        // 엔티티가 아닌 ReplyDTO로 바로 조회 (rno, bno, replyText, replyer, regDate)
+        Page<ReplyDTO> result = replyRepository.listDTOOfBoard(bno, pageable);
+
+        log.info("total: " + result.getTotalElements());
+        result.getContent().forEach(log::info);
+    }
+
+}
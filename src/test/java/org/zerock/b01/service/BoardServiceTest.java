@@ -1,13 +1,24 @@
 package org.zerock.b01.service;
 
+import jakarta.persistence.EntityManagerFactory;
 import lombok.extern.log4j.Log4j2;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.zerock.b01.dto.BoardDTO;
+import org.zerock.b01.dto.BoardListReplyCountDTO;
 import org.zerock.b01.dto.PageRequestDTO;
 import org.zerock.b01.dto.PageResponseDTO;
 
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest // -- Spring Boot App-Context를 로드하여 통합 테스트 수행
@@ -16,6 +27,18 @@ class BoardServiceTest {
     @Autowired
     private BoardService boardService;
 
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private BoardExportService boardExportService;
+
+    @Autowired
+    private BoardImportService boardImportService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     public void testRegister() {
         log.info(boardService.getClass().getName());
@@ -57,4 +80,110 @@ class BoardServiceTest {
 
         log.info(responseDTO);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testListWithCursor() { // -- keyset(커서) 페이징으로 첫 페이지 -> 다음 페이지 -> 이전 페이지 이동
+        PageRequestDTO first = PageRequestDTO.builder()
+                .cursor("")
+                .size(10)
+                .build();
+
+        PageResponseDTO<BoardListReplyCountDTO> firstPage = boardService.listWithReplyCount(first);
+        log.info(firstPage);
+
+        assertNull(firstPage.getPrevCursor());
+        assertNotNull(firstPage.getNextCursor());
+
+        PageRequestDTO second = PageRequestDTO.builder()
+                .cursor(firstPage.getNextCursor())
+                .size(10)
+                .build();
+
+        PageResponseDTO<BoardListReplyCountDTO> secondPage = boardService.listWithReplyCount(second);
+        log.info(secondPage);
+
+        // 두 번째 페이지의 첫 글은 첫 페이지의 마지막 글보다 bno가 작아야 한다
+        Long lastOfFirst = firstPage.getDtoList().get(firstPage.getDtoList().size() - 1).getBno();
+        assertTrue(secondPage.getDtoList().get(0).getBno() < lastOfFirst);
+
+        PageRequestDTO back = PageRequestDTO.builder()
+                .cursor(secondPage.getPrevCursor())
+                .size(10)
+                .build();
+
+        PageResponseDTO<BoardListReplyCountDTO> backPage = boardService.listWithReplyCount(back);
+
+        assertEquals(firstPage.getDtoList().get(0).getBno(), backPage.getDtoList().get(0).getBno());
+    }
+
+    @Test
+    public void testReadOneSecondLevelCache() { // -- 두 번째 조회부터는 2차 캐시에서 읽어야 한다
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Long bno = 100L;
+        boardService.readOne(bno);
+
+        long hitBefore = statistics.getSecondLevelCacheHitCount();
+        boardService.readOne(bno);
+
+        log.info(statistics.getDomainDataRegionStatistics("board"));
+        assertTrue(statistics.getSecondLevelCacheHitCount() > hitBefore);
+    }
+
+    @Test
+    public void testReadOnlyNoFlush() { // -- 목록/조회는 읽기 전용 트랜잭션이므로 flush(dirty checking)가 일어나지 않아야 한다
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        long flushBefore = statistics.getFlushCount();
+
+        PageRequestDTO pageRequestDTO = PageRequestDTO.builder().page(5).size(10).build(); // -- 목록 캐시 대상이 아닌 페이지
+        boardService.list(pageRequestDTO);
+        boardService.listWithReplyCount(pageRequestDTO);
+        boardService.readOne(100L);
+
+        assertEquals(flushBefore, statistics.getFlushCount());
+    }
+
+    @Test
+    public void testListWithReplyCountCache() { // -- 검색어 없는 앞쪽 페이지는 캐시된 결과를 재사용, 게시글 등록 후에는 다시 조회
+        PageRequestDTO pageRequestDTO = PageRequestDTO.builder().page(1).size(10).build();
+
+        PageResponseDTO<BoardListReplyCountDTO> first = boardService.listWithReplyCount(pageRequestDTO);
+        PageResponseDTO<BoardListReplyCountDTO> second = boardService.listWithReplyCount(PageRequestDTO.builder().page(1).size(10).build());
+
+        assertSame(first, second);
+
+        boardService.register(BoardDTO.builder()
+                .title("Cache Title...")
+                .content("Cache Content...")
+                .writer("user00")
+                .build());
+
+        assertNotSame(first, boardService.listWithReplyCount(pageRequestDTO));
+    }
+
+    @Test
+    public void testExportNdjson() throws Exception { // -- 게시글 한 건이 한 줄로 출력되는지 확인
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        boardExportService.exportNdjson(out);
+
+        String[] lines = out.toString(StandardCharsets.UTF_8).strip().split("\n");
+        log.info(lines[0]);
+
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from board", Long.class), lines.length);
+    }
+
+    @Test
+    public void testImportNdjson(@TempDir Path dir) throws Exception { // -- 가져오기 후 다시 실행하면 체크포인트 이후만 처리
+        Path file = dir.resolve("boards.ndjson");
+        Files.writeString(file,
+                "{\"title\":\"Import Title 1\",\"content\":\"Import Content\",\"writer\":\"user00\"," +
+                "\"replies\":[{\"replyText\":\"Import Reply\",\"replyer\":\"replyer\"}]}\n" +
+                "{\"title\":\"Import Title 2\",\"content\":\"Import Content\",\"writer\":\"user00\"}\n");
+
+        assertEquals(2, boardImportService.importFile(file));
+        assertEquals("2", Files.readString(dir.resolve("boards.ndjson.checkpoint")));
+
+        assertEquals(0, boardImportService.importFile(file));
+    }
+}
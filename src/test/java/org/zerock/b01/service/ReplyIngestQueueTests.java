@@ -0,0 +1,121 @@
+package org.zerock.b01.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.extern.log4j.Log4j2;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.b01.dto.ReplyDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "b01.reply.ingest.enabled=true",
+        "b01.reply.ingest.batch-size=20",
+        "b01.reply.ingest.journal=./build/tmp/reply-ingest-test.journal"
+})
+@Log4j2
+class ReplyIngestQueueTests {
+
+    @Autowired
+    private ReplyService replyService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    public void testRegisterAsync() { // -- 동시에 들어온 댓글이 group commit 후 각자의 rno를 받고 댓글 수가 모두 반영되는지 확인
+        Long bno = 100L;
+
+        Long before = jdbcTemplate.queryForObject("select reply_count from board where bno = ?", Long.class, bno);
+
+        List<CompletableFuture<Long>> futures = IntStream.rangeClosed(1, 50)
+                .mapToObj(i -> replyService.registerAsync(ReplyDTO.builder()
+                        .replyText("Ingest Text..." + i)
+                        .replyer("replyer")
+                        .bno(bno)
+                        .build()))
+                .toList();
+
+        List<Long> rnos = futures.stream().map(CompletableFuture::join).toList();
+
+        log.info(rnos);
+
+        assertEquals(50, rnos.stream().distinct().count());
+        assertEquals(rnos.stream().sorted().toList(), rnos); // -- 큐에 넣은 순서대로 저장
+        assertEquals(before + 50, jdbcTemplate.queryForObject("select reply_count from board where bno = ?", Long.class, bno));
+    }
+
+    @Test
+    public void testJournalFsyncFailure(@TempDir Path dir) throws Exception { // -- fsync 실패 시 요청이 실패로 응답되고, 이후 거절되며, 재시작해도 다시 등록되지 않는지 확인
+        Long bno = 100L;
+        Path journal = dir.resolve("reply-ingest.journal");
+
+        Long before = getReplyCount(bno);
+
+        ReplyIngestQueue failing = new ReplyIngestQueue(replyService, objectMapper, 100, 20, Duration.ofMillis(10),
+                journal, new SimpleMeterRegistry()) {
+            @Override
+            void forceJournal() throws IOException {
+                throw new IOException("fsync failed");
+            }
+        };
+        failing.start();
+
+        CompletableFuture<Long> future = failing.submit(replyDTO(bno, "Fsync Failure Text"));
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertInstanceOf(UncheckedIOException.class, e.getCause());
+
+        // 중단 후에는 새 요청을 받지 않는다 (503)
+        assertThrows(ReplyIngestRejectedException.class, () -> failing.submit(replyDTO(bno, "Rejected Text")));
+        failing.stop();
+
+        // journal은 *.failed-로 옮겨져 복구 대상에서 빠진다
+        assertFalse(Files.exists(journal));
+        try (var files = Files.list(dir)) {
+            assertTrue(files.anyMatch(file -> file.getFileName().toString().startsWith("reply-ingest.journal.failed-")));
+        }
+
+        // 같은 journal 경로로 다시 시작해도 실패로 응답한 댓글은 등록되지 않는다 -- 새 댓글 1건만 반영
+        ReplyIngestQueue restarted = new ReplyIngestQueue(replyService, objectMapper, 100, 20, Duration.ofMillis(10),
+                journal, new SimpleMeterRegistry());
+        restarted.start();
+
+        Long rno = restarted.submit(replyDTO(bno, "After Restart Text")).get(5, TimeUnit.SECONDS);
+        restarted.stop();
+
+        assertEquals(before + 1, getReplyCount(bno));
+
+        replyService.remove(rno);
+    }
+
+    private ReplyDTO replyDTO(Long bno, String replyText) {
+        return ReplyDTO.builder()
+                .replyText(replyText)
+                .replyer("replyer")
+                .bno(bno)
+                .build();
+    }
+
+    private Long getReplyCount(Long bno) {
+        return jdbcTemplate.queryForObject("select reply_count from board where bno = ?", Long.class, bno);
+    }
+}
@@ -4,8 +4,16 @@ import lombok.extern.log4j.Log4j2;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.zerock.b01.dto.PageRequestDTO;
+import org.zerock.b01.dto.PageResponseDTO;
 import org.zerock.b01.dto.ReplyDTO;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 @SpringBootTest
@@ -15,6 +23,9 @@ class ReplyServiceTests {
     @Autowired
     private ReplyService replyService;
 
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
     @Test
     public void testRegister() {
 
@@ -26,4 +37,90 @@ class ReplyServiceTests {
 
         log.info(replyService.register(replyDTO));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void testReplyCount() { // -- 댓글 등록/삭제 시 Board.replyCount가 함께 증감하는지 확인
+        Long bno = 100L;
+
+        Long before = getReplyCount(bno);
+
+        Long rno = replyService.register(ReplyDTO.builder()
+                .replyText("ReplyCount Text")
+                .replyer("replyer")
+                .bno(bno)
+                .build());
+
+        assertEquals(before + 1, getReplyCount(bno));
+
+        replyService.remove(rno);
+
+        assertEquals(before, getReplyCount(bno));
+    }
+
+    @Test
+    public void testRegisterAll() { // -- 일괄 등록 시 rno가 입력 순서대로 반환되고 댓글 수가 한 번에 증가하는지 확인
+        Long bno = 100L;
+
+        Long before = getReplyCount(bno);
+
+        List<ReplyDTO> replyDTOList = IntStream.rangeClosed(1, 25).mapToObj(i -> ReplyDTO.builder()
+                .replyText("Batch Reply " + i)
+                .replyer("replyer" + i)
+                .bno(bno)
+                .build()).toList();
+
+        List<Long> rnos = replyService.registerAll(replyDTOList);
+
+        assertEquals(25, rnos.size());
+        assertEquals("Batch Reply 1", replyService.read(rnos.get(0)).getReplyText());
+        assertEquals("Batch Reply 25", replyService.read(rnos.get(24)).getReplyText());
+        assertEquals(before + 25, getReplyCount(bno));
+    }
+
+    @Test
+    public void testRegisterAllIgnoresRegDate() { // -- 요청에 담긴 등록 일자로 과거 날짜 댓글을 만들 수 없는지 확인 (항상 서버 시각)
+        LocalDateTime start = LocalDateTime.now().minusSeconds(1);
+
+        List<Long> rnos = replyService.registerAll(List.of(ReplyDTO.builder()
+                .replyText("Backdated Reply")
+                .replyer("replyer")
+                .bno(100L)
+                .regDate(LocalDateTime.of(2000, 1, 1, 0, 0))
+                .build()));
+
+        assertTrue(replyService.read(rnos.get(0)).getRegDate().isAfter(start));
+
+        replyService.remove(rnos.get(0));
+    }
+
+    @Test
+    public void testListOfBoardAfter() { // -- 커서를 따라가며 끝까지 읽으면 rno 오름차순으로 전체 댓글을 중복 없이 가져오는지 확인
+        Long bno = 100L;
+
+        PageRequestDTO pageRequestDTO = PageRequestDTO.builder().size(3).build();
+
+        List<Long> rnos = new ArrayList<>();
+        Long after = 0L;
+
+        while (true) {
+            PageResponseDTO<ReplyDTO> responseDTO = replyService.getListOfBoardAfter(bno, after, pageRequestDTO);
+            responseDTO.getDtoList().forEach(replyDTO -> rnos.add(replyDTO.getRno()));
+
+            if (responseDTO.getNextCursor() == null) {
+                break;
+            }
+            assertEquals(3, responseDTO.getDtoList().size());
+            after = Long.valueOf(responseDTO.getNextCursor());
+        }
+
+        log.info(rnos);
+
+        assertEquals(jdbcTemplate.queryForObject("select count(*) from reply where board_bno = ?", Integer.class, bno),
+                rnos.size());
+        assertEquals(rnos.stream().sorted().distinct().toList(), rnos);
+    }
+
+    private Long getReplyCount(Long bno) {
+        return jdbcTemplate.queryForObject("select reply_count from board where bno = ?", Long.class, bno);
+    }
+}